@@ -0,0 +1,173 @@
+package com.shynee.main.chess;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.shynee.main.utils.Constants;
+import com.shynee.main.utils.Transform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.shynee.main.utils.Constants.SQUARE_SIZE;
+
+/**
+ * BoardView -- Square[] view of a ChessBoard used by the UI.
+ * The engine always numbers squares from white's side, so the view flips the board when the player is black.
+ * Moves made through the view are highlighted and the squares are updated from the engine's Bitboard.
+ * Also includes functions to highlight squares and legal moves.
+ */
+public class BoardView {
+
+    private final ChessBoard board;
+    private final Square[] squares;
+    private final boolean playerColor;
+
+    private final HashMap<Square, Move> possibleMoves;
+    private final List<Square> coloredSquares;
+
+    /**
+     * @param board ChessBoard to display.
+     * @param playerColor Color of the player (shown at the bottom of the screen).
+     */
+    public BoardView(ChessBoard board, boolean playerColor){
+        this.board = board;
+        this.playerColor = playerColor;
+        this.squares = new Square[64];
+
+        this.possibleMoves = new HashMap<>();
+        this.coloredSquares = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++){
+            int[] rf = BoardUtility.getRankAndFile(i);
+            squares[i] = new Square(generateTransform(toScreen(rf[0]), toScreen(rf[1])), i);
+        }
+
+        sync();
+    }
+
+    /**
+     * Makes a move in the game and highlights it.
+     * @param move Move to make on the board.
+     */
+    public void makeMove(Move move){
+        clearUI();
+
+        board.makeMove(move, false);
+        sync();
+
+        highlightSquare(move.piecePos, Constants.MOVE_COLOR);
+        highlightSquare(move.isCastle ? move.piecePos + (move.directionOffset > 0 ? 2 : -2) : move.squarePos, Constants.MOVE_COLOR);
+    }
+
+    /**
+     * Updates the piece on every square from the board.
+     */
+    public void sync(){
+        Bitboard bitboard = board.getBitboard();
+
+        for (int i = 0; i < 64; i++){
+            int piece = bitboard.getPiece(i);
+            squares[i].setPiece(piece == Bitboard.EMPTY ? null : new Piece(Bitboard.pieceType(piece), Bitboard.pieceColor(piece)));
+        }
+    }
+
+    /**
+     * Finds all possible moves for a given piece and displays them on the screen.
+     * @param squarePosition Array position of the square to generate moves for.
+     */
+    public void generatePossibleMoves(int squarePosition){
+        List<Move> legalMoves = board.getMoveCalculator().getLegalMoves(board, board.colorToMove());
+        legalMoves.removeIf(m-> m.piecePos!=squarePosition);
+
+        for (Move m : legalMoves){
+            Square s = squares[m.squarePos];
+
+            possibleMoves.put(s, m);
+
+            if (s.hasPiece()) s.setColor(Constants.TAKE_COLOR);
+            else s.setPossibleMove(true);
+        }
+    }
+
+    /**
+     * Checks if a move is legal on the current board state.
+     * @param prev Current position of the piece.
+     * @param current New position to move the piece to.
+     * @return True if the move is legal.
+     */
+    public boolean validateMove(int prev, int current){
+        Square prevSquare = squares[prev];
+        Square currentSquare = squares[current];
+
+        return prevSquare != currentSquare && possibleMoves.containsKey(currentSquare);
+    }
+
+    public void highlightSquare(int squarePosition, Color color){
+        highlightSquare(squares[squarePosition], color);
+    }
+
+    public void highlightSquare(Square square, Color color){
+        square.setColor(color);
+        coloredSquares.add(square);
+    }
+
+    public void clearColors(){
+        for (Square s : coloredSquares){
+            s.setColor(null);
+        }
+        coloredSquares.clear();
+    }
+
+    public void clearUI(){
+        for (Square s : possibleMoves.keySet()){
+            s.setPossibleMove(false);
+            if (s.getColor() == Constants.TAKE_COLOR) s.setColor(null);
+        }
+
+        clearColors();
+
+        possibleMoves.clear();
+    }
+
+    /**
+     * Converts a rank and file on the screen (0 = bottom/left) to a square on the board.
+     * @param rank Rank on the screen.
+     * @param file File on the screen.
+     * @return Array position of the square.
+     */
+    public int screenToSquare(int rank, int file){
+        return BoardUtility.getArrayIndex(toScreen(rank), toScreen(file));
+    }
+
+    public Square getSquare(int squarePos){
+        return squares[squarePos];
+    }
+
+    public Square[] getSquares(){
+        return squares;
+    }
+
+    public ChessBoard getBoard(){
+        return board;
+    }
+
+    /**
+     * Flipping is its own inverse, so this converts both board -> screen and screen -> board.
+     * @param rankOrFile Rank or file to convert.
+     * @return Rank or file after flipping the board for a black player.
+     */
+    private int toScreen(int rankOrFile){
+        return playerColor ? rankOrFile : 7 - rankOrFile;
+    }
+
+    /**
+     * Generates a valid world-coordinate transform given a rank and file
+     * @param rank Rank of the square on the screen
+     * @param file File of the square on the screen
+     * @return Transform of the square
+     */
+    private static Transform generateTransform(int rank, int file){
+        return new Transform(new Vector2(SQUARE_SIZE * file, SQUARE_SIZE * rank), new Vector2(SQUARE_SIZE, SQUARE_SIZE));
+    }
+}
@@ -3,28 +3,62 @@ package com.shynee.main.components;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.shynee.main.abstracts.Component;
 import com.shynee.main.chess.AI.Search;
+import com.shynee.main.chess.AI.TimeManager;
+import com.shynee.main.chess.BoardView;
 import com.shynee.main.chess.Book;
 import com.shynee.main.chess.ChessBoard;
 import com.shynee.main.chess.Move;
+import com.shynee.main.chess.MoveUtility;
+import com.shynee.main.utils.Constants;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * AIController -- Responsible for controlling all AI movement/decisions
+ * While the player is thinking, the AI ponders: it searches the position after the reply it expects on a background thread.
+ * If the player makes that move (ponder hit), the running search gets its time limits and its result is used.
+ * Otherwise (ponder miss) the search is aborted and a normal search is started.
  */
 public class AIController extends Component {
 
     private final boolean color;
+    private final BoardView view;
     private final ChessBoard board;
+    // Copy of the board used by the search, so that the player can move while the AI is pondering
+    private final ChessBoard searchBoard;
     private final Search search;
+    private final TimeManager timeManager;
     private final Book book;
 
-    public AIController(boolean aiColor, ChessBoard board, Book book){
+    // Time left on the AI's clock in milliseconds
+    private long remainingTime;
+
+    private final ExecutorService ponderThread;
+    // Result of the ponder search (null when not pondering)
+    private Future<Move> ponderResult;
+    // Zobrist key of the position the AI is pondering on
+    private long ponderKey;
+
+    public AIController(boolean aiColor, BoardView view, Book book){
         this.color = aiColor;
-        this.board = board;
-        this.search = new Search(board);
+        this.view = view;
+        this.board = view.getBoard();
+        this.searchBoard = new ChessBoard(Constants.DEFAULT_FEN);
+        this.search = new Search(searchBoard, Constants.SEARCH_THREADS, Constants.SEARCH_HASH_SIZE);
+        this.timeManager = new TimeManager();
         this.book = book;
+        this.remainingTime = Constants.AI_CLOCK_TIME;
+
+        this.ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ponder");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -34,40 +68,85 @@ public class AIController extends Component {
 
     @Override
     public void update(float dt, SpriteBatch batch) {
+        if (!board.gameRunning) stopPondering();
         if (board.colorToMove() != color || !board.gameRunning) return;
 
         Move bestMove = null;
+        boolean searched = false;
 
         // Try to get book move
         bestMove = book.getRandomMove();
+        if (bestMove == null && ponderResult != null && board.zobristKey == ponderKey) {
+            // Ponder hit: the search already started on this position, so it only needs time limits
+            timeManager.ponderHit(remainingTime, Constants.AI_CLOCK_INCREMENT, 0);
+            bestMove = waitForPonderResult();
+            remainingTime -= timeManager.getElapsedTime();
+            searched = bestMove != null;
+        }
+        stopPondering();
+
         if (bestMove == null) {
             // Perform timed search if there are no book moves available
-            startSearchTimer();
-            bestMove = search.startSearch(30);
+            searchBoard.copyPosition(board);
+            timeManager.start(remainingTime, Constants.AI_CLOCK_INCREMENT, 0);
+            bestMove = search.startSearch(30, timeManager);
+            remainingTime -= timeManager.getElapsedTime();
+            searched = true;
         }
-        if (bestMove != null) board.makeMove(bestMove, false);
+        remainingTime = Math.max(0, remainingTime);
+        // The search can be aborted before it finishes a root move (e.g. when the clock is almost empty)
+        if (bestMove == null) bestMove = getRandomMove();
+        if (bestMove == null) return;
+
+        view.makeMove(bestMove);
+        // The increment is only added once a move is actually made
+        remainingTime += Constants.AI_CLOCK_INCREMENT;
 
         book.updateMoves(board.zobristKey);
+        if (searched && Constants.AI_PONDER) startPondering();
     }
 
     /**
-     * Starts a threaded timer to stop the search after a certain time has elapsed.
+     * Starts searching the position after the reply expected by the last search on the ponder thread.
      */
-    public void startSearchTimer(){
-        Thread thread = new Thread(() -> {
-            boolean abort = false;
-            long startTime = System.currentTimeMillis();
-            while (!abort){
-                long timeNow = System.currentTimeMillis();
-                float elapsedSeconds = (float)((timeNow - startTime)/1000);
-
-                if (elapsedSeconds >= 1.5f) {
-                    search.abortSearch();
-                    abort = true;
-                }
-            }
-        });
-        thread.start();
+    private void startPondering(){
+        int ponderMove = search.getPonderMove();
+        if (!board.gameRunning || ponderMove == MoveUtility.NULL_MOVE) return;
+
+        searchBoard.copyPosition(board);
+        if (!searchBoard.getMoveCalculator().isLegal(ponderMove, searchBoard.colorToMove())) return;
+        searchBoard.makeMove(ponderMove, true);
+
+        ponderKey = searchBoard.zobristKey;
+        timeManager.startPonder();
+        ponderResult = ponderThread.submit(() -> search.startSearch(30, timeManager));
+    }
+
+    /**
+     * Aborts the ponder search (if there is one) and waits for it to finish.
+     */
+    private void stopPondering(){
+        if (ponderResult == null) return;
+
+        // The time manager stops the search even if it hasn't started yet
+        timeManager.stop();
+        search.abortSearch();
+        waitForPonderResult();
+    }
+
+    /**
+     * Waits for the ponder search to finish.
+     * @return Best move found by the ponder search (null if it failed).
+     */
+    private Move waitForPonderResult(){
+        Future<Move> result = ponderResult;
+        ponderResult = null;
+
+        try {
+            return result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
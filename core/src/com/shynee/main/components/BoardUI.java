@@ -7,7 +7,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.shynee.main.*;
 import com.shynee.main.abstracts.Component;
-import com.shynee.main.chess.ChessBoard;
+import com.shynee.main.chess.BoardView;
 import com.shynee.main.chess.Piece;
 import com.shynee.main.chess.Square;
 import com.shynee.main.utils.*;
@@ -20,15 +20,15 @@ import space.earlygrey.shapedrawer.ShapeDrawer;
 public class BoardUI extends Component {
 
     private final OrthographicCamera camera;
-    private final ChessBoard board;
+    private final BoardView view;
     private final Spritesheet sheet;
 
     private Square[] squares;
 
-    public BoardUI(ChessBoard board){
+    public BoardUI(BoardView view){
         this.camera = Main.currentScene().camera;
         this.sheet = AssetPool.getSpritesheet("Pieces.png");
-        this.board = board;
+        this.view = view;
     }
 
     @Override
@@ -41,7 +41,7 @@ public class BoardUI extends Component {
     @Override
     public void update(float dt, SpriteBatch batch) {
         ShapeDrawer drawer = AssetPool.getShapeDrawer(batch, new ShapeDrawer(batch, new TextureRegion(AssetPool.getTexture("images/Solid_white.png"))));
-        squares = board.getSquares();
+        squares = view.getSquares();
 
         if (squares == null || squares.length == 0) return;
 
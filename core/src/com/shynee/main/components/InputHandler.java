@@ -14,6 +14,7 @@ import com.shynee.main.utils.Constants;
  */
 public class InputHandler extends Component {
 
+    private final BoardView view;
     private final ChessBoard board;
     private final Book book;
     private final int squareSize = Constants.WORLD_HEIGHT/8;
@@ -21,8 +22,9 @@ public class InputHandler extends Component {
     private float mouseOffset;
     private boolean hasClicked;
     private int previousClickedSquarePos;
-    public InputHandler(ChessBoard board, Book book){
-        this.board = board;
+    public InputHandler(BoardView view, Book book){
+        this.view = view;
+        this.board = view.getBoard();
         this.book = book;
         this.hasClicked = false;
     }
@@ -52,12 +54,12 @@ public class InputHandler extends Component {
      */
     private void handleFirstClick(int clickedSquare){
         // Check if the clicked square contains a piece of the correct color
-        if (!board.getSquare(clickedSquare).hasPiece() || board.getSquare(clickedSquare).getPiece().color != board.colorToMove() || !board.gameRunning) return;
+        if (!view.getSquare(clickedSquare).hasPiece() || view.getSquare(clickedSquare).getPiece().color != board.colorToMove() || !board.gameRunning) return;
 
         this.previousClickedSquarePos = clickedSquare;
 
-        board.highlightSquare(clickedSquare, Constants.MOVE_COLOR);
-        board.generatePossibleMoves(clickedSquare);
+        view.highlightSquare(clickedSquare, Constants.MOVE_COLOR);
+        view.generatePossibleMoves(clickedSquare);
 
         this.hasClicked = true;
     }
@@ -71,12 +73,12 @@ public class InputHandler extends Component {
         this.hasClicked = false;
 
         // Check if the previously clicked square is able to move to the new square
-        if (!board.validateMove(previousClickedSquarePos, clickedSquare)) {
-            board.clearUI();
+        if (!view.validateMove(previousClickedSquarePos, clickedSquare)) {
+            view.clearUI();
             return;
         }
 
-        board.makeMove(board.getMove(previousClickedSquarePos, clickedSquare), false);
+        view.makeMove(board.getMove(previousClickedSquarePos, clickedSquare));
         book.updateMoves(board.zobristKey);
     }
 
@@ -84,8 +86,11 @@ public class InputHandler extends Component {
         worldCoords.x += mouseOffset;
         worldCoords.y = Constants.WORLD_HEIGHT - worldCoords.y;
 
+        // Clicks outside of the board can't be flipped
+        if (worldCoords.x < 0 || worldCoords.y < 0 || worldCoords.x >= squareSize*8 || worldCoords.y >= squareSize*8) return -1;
+
         // Convert screen coordinates to board position by dividing the coordinates by the size of each square
-        return BoardUtility.getArrayIndex((int) worldCoords.y/squareSize, (int) worldCoords.x/squareSize);
+        return view.screenToSquare((int) worldCoords.y/squareSize, (int) worldCoords.x/squareSize);
     }
 
 }
@@ -3,7 +3,9 @@ package com.shynee.main.scenes;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
+import com.shynee.main.chess.BoardView;
 import com.shynee.main.chess.Book;
 import com.shynee.main.chess.ChessBoard;
 import com.shynee.main.abstracts.Scene;
@@ -29,8 +31,9 @@ public class ChessScene extends Scene {
     public void start(){
         loadResources();
         this.camera = new OrthographicCamera(Constants.WORLD_WIDTH, Constants.WORLD_HEIGHT);
-        ChessBoard board = new ChessBoard(FEN, playerColor);
-        Book book = new Book(board);
+        ChessBoard board = new ChessBoard(FEN);
+        BoardView view = new BoardView(board, playerColor);
+        Book book = new Book(board, Gdx.files.internal("games/book.txt").file().toPath(), Gdx.files.internal("games/games.txt").file().toPath());
 
         super.start();
 
@@ -39,15 +42,15 @@ public class ChessScene extends Scene {
         addGameObject(boardSprite);
 
         GameObject boardUI = new GameObject("BoardUI", new Transform(new Vector2(), new Vector2(Constants.WORLD_HEIGHT, Constants.WORLD_HEIGHT)));
-        boardUI.addComponent(new BoardUI(board));
+        boardUI.addComponent(new BoardUI(view));
         addGameObject(boardUI);
 
         GameObject mouseInput = new GameObject("MouseInputHandler");
-        mouseInput.addComponent(new InputHandler(board, book));
+        mouseInput.addComponent(new InputHandler(view, book));
         addGameObject(mouseInput);
 
         GameObject aiPlayer = new GameObject("AiPLayer");
-        aiPlayer.addComponent(new AIController(!playerColor, board, book));
+        aiPlayer.addComponent(new AIController(!playerColor, view, book));
         addGameObject(aiPlayer);
     }
 
@@ -12,6 +12,16 @@ public class Constants {
     // ChessBoard constants
     public final static String DEFAULT_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0";
 
+    // AI constants
+    public final static int SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+    // Size of the transposition table in megabytes
+    public final static int SEARCH_HASH_SIZE = 64;
+    // Clock of the AI in milliseconds (time at the start of the game and time added after every move)
+    public final static long AI_CLOCK_TIME = 30000;
+    public final static long AI_CLOCK_INCREMENT = 1000;
+    // Think on the opponent's time about the position after the expected reply
+    public final static boolean AI_PONDER = true;
+
     // Square colors
     public final static Color MOVE_COLOR = new Color(50, 50, 0, 0.2f);
     public final static Color TAKE_COLOR = new Color(1, 0, 0, 0.3f);
@@ -1,11 +1,8 @@
 package com.shynee.main.chess.AI;
 
-import com.shynee.main.chess.BoardUtility;
+import com.shynee.main.chess.Bitboard;
 import com.shynee.main.chess.ChessBoard;
 import com.shynee.main.chess.Piece;
-import com.shynee.main.chess.Square;
-
-import java.util.List;
 
 /**
  * Evaluation -- Used to perform static evaluation of a given board position.
@@ -30,8 +27,11 @@ public class Evaluation {
      * @return The evaluation.
      */
     public static int evaluate(ChessBoard board){
-        int whiteEval = countMaterial(board, true);
-        int blackEval = countMaterial(board, false);
+        Bitboard bitboard = board.getBitboard();
+
+        // Material is kept up to date by the Bitboard
+        int whiteEval = bitboard.getMaterial(true);
+        int blackEval = bitboard.getMaterial(false);
 
         // Pawns are ignored to make endgame calculations easier
         int whiteMaterialWithoutPawns = whiteEval - (board.numPieces(Piece.PAWN, true)*pawnValue);
@@ -41,11 +41,14 @@ public class Evaluation {
         float whiteEndWeight = getEndgameWeight(whiteMaterialWithoutPawns);
         float blackEndWeight = getEndgameWeight(blackMaterialWithoutPawns);
 
-        whiteEval += kingEndgameEval(board.whiteKingSquare, whiteEval, board.blackKingSquare, blackEval, blackEndWeight);
-        blackEval += kingEndgameEval(board.blackKingSquare, blackEval, board.whiteKingSquare, whiteEval, whiteEndWeight);
+        int whiteKing = board.getKingSquare(true);
+        int blackKing = board.getKingSquare(false);
+
+        whiteEval += kingEndgameEval(whiteKing, whiteEval, blackKing, blackEval, blackEndWeight);
+        blackEval += kingEndgameEval(blackKing, blackEval, whiteKing, whiteEval, whiteEndWeight);
 
-        whiteEval += evalPieceSquareTables(board, true, blackEndWeight);
-        blackEval += evalPieceSquareTables(board, false, whiteEndWeight);
+        whiteEval += evalPieceSquareTables(bitboard, true, blackEndWeight);
+        blackEval += evalPieceSquareTables(bitboard, false, whiteEndWeight);
 
         // Negative = bad, positive = good
         int perspective = board.colorToMove()?1:-1;
@@ -69,32 +72,33 @@ public class Evaluation {
      * Meant to assist with checkmating when search can't see
      * far enough ahead for checkmate.
      *
-     * @param friendlyKing Square of the friendly king.
+     * @param friendlyKing Position of the friendly king.
      * @param friendlyEval Current evaluation of the friendly color.
-     * @param opponentKing Square of the opponent king.
+     * @param opponentKing Position of the opponent king.
      * @param opponentEval Current evaluation of the opponent color.
      * @param endgameWeight Value that gets larger as opponent loses more pieces.
      * @return Integer evaluation of the friendly king position.
      */
-    private static int kingEndgameEval(Square friendlyKing, int friendlyEval, Square opponentKing, int opponentEval, float endgameWeight){
+    private static int kingEndgameEval(int friendlyKing, int friendlyEval, int opponentKing, int opponentEval, float endgameWeight){
         // Check if entered endgame
         if (!(friendlyEval > opponentEval + pawnValue * 2 && endgameWeight > 0)) return 0;
 
         int endgameEval = 0;
 
         // Calculate center manhattan distance (distance from king to center of board)
-        int[] oppRF = BoardUtility.getRankAndFile(opponentKing.getArrayPosition());
-        int rankFromCenter = Math.max(3 - oppRF[0], oppRF[0] - 4);
-        int fileFromCenter = Math.max(3 - oppRF[1], oppRF[1] - 4);
+        // Rank and file are computed directly since this runs at every leaf
+        int oppRank = opponentKing >> 3;
+        int oppFile = opponentKing & 7;
+        int rankFromCenter = Math.max(3 - oppRank, oppRank - 4);
+        int fileFromCenter = Math.max(3 - oppFile, oppFile - 4);
         int centerManhattanDistance = rankFromCenter+fileFromCenter;
 
         // Adjust distance to be weighed like piece-square tables
         endgameEval += centerManhattanDistance * 10;
 
         // Push friendly king closer to opponent (help with checkmate)
-        int[] friendRF = BoardUtility.getRankAndFile(friendlyKing.getArrayPosition());
-        int rankDst = Math.abs(oppRF[0] - friendRF[0]);
-        int fileDst = Math.abs(oppRF[1] - friendRF[1]);
+        int rankDst = Math.abs(oppRank - (friendlyKing >> 3));
+        int fileDst = Math.abs(oppFile - (friendlyKing & 7));
         // 14 is the max distance the kings can be
         int dstKings = 14 - rankDst+fileDst;
         endgameEval += dstKings * 4;
@@ -102,70 +106,21 @@ public class Evaluation {
         return (int) (endgameEval*endgameWeight);
     }
 
-    /**
-     * Sums the total material of all pieces of a color on the board.
-     * @param board ChessBoard class representing current board.
-     * @param color Color of the pieces to count.
-     * @return Sum of all material values.
-     */
-    private static int countMaterial(ChessBoard board, boolean color){
-        int material = 0;
-
-        material += board.numPieces(Piece.PAWN, color) * pawnValue;
-        material += board.numPieces(Piece.KNIGHT, color) * knightValue;
-        material += board.numPieces(Piece.BISHOP, color) * bishopValue;
-        material += board.numPieces(Piece.ROOK, color) * rookValue;
-        material += board.numPieces(Piece.QUEEN, color) * queenValue;
-
-        return material;
-    }
-
     /**
      * Evaluates the position of every piece of a certain color.
      * Positions are evaluated using an array of values that represent every square of the board.
      * These arrays are generalized rules about where pieces should be
      * (e.g. king should stay on the bottom of the board and not wander).
      * See PieceSquareTables class for all values.
+     * The middlegame and endgame sums are kept up to date by the Bitboard, so they only have to be blended here.
      *
-     * @param board ChessBoard class representing the current board position.
+     * @param bitboard Bitboard of the current board position.
      * @param color Color of the pieces to evaluate.
      * @param endgameWeight Value that increases as opponent loses more pieces.
      * @return Sum of the position evaluation of every piece of the specified color.
      */
-    private static int evalPieceSquareTables(ChessBoard board, boolean color, float endgameWeight){
-        int value = 0;
-
-        value += evalPieceSquareTable(board, PieceSquareTables.queens, Piece.QUEEN, color);
-        value += evalPieceSquareTable(board, PieceSquareTables.bishops, Piece.BISHOP, color);
-        value += evalPieceSquareTable(board, PieceSquareTables.knights, Piece.KNIGHT, color);
-        value += evalPieceSquareTable(board, PieceSquareTables.rooks, Piece.ROOK, color);
-        value += evalPieceSquareTable(board, PieceSquareTables.pawns, Piece.PAWN, color);
-
-        // This table becomes less important the closer you get to the endgame
-        int kingEarlyPhase = PieceSquareTables.read(PieceSquareTables.kingMiddle, Piece.KING, color);
-        value += kingEarlyPhase * (1-endgameWeight);
-
-        return value;
-    }
-
-    /**
-     * Evaluates position of all pieces of a certain type/color using piece-square tables.
-     * See above for more details.
-     *
-     * @param board ChessBoard class representing the current board position.
-     * @param table Piece-square table to evaluate.
-     * @param pieceType Type of piece to evaluate against table.
-     * @param color Color of the piece.
-     * @return Sum of the position evaluation of all pieces of the specified type and color.
-     */
-    private static int evalPieceSquareTable(ChessBoard board, int[] table, int pieceType, boolean color){
-        int value = 0;
-        List<Integer> pieceList = board.getPiecePosList(pieceType, color);
-        for (int piecePos : pieceList){
-            value += PieceSquareTables.read(table, piecePos, color);
-        }
-
-        return value;
+    private static int evalPieceSquareTables(Bitboard bitboard, boolean color, float endgameWeight){
+        return (int) (bitboard.getMiddlegameScore(color) * (1-endgameWeight) + bitboard.getEndgameScore(color) * endgameWeight);
     }
 
     public static int getPieceValue(int pieceType){
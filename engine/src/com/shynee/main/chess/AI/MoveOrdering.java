@@ -0,0 +1,192 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.Bitboard;
+import com.shynee.main.chess.ChessBoard;
+import com.shynee.main.chess.MoveUtility;
+import com.shynee.main.chess.Piece;
+
+/**
+ * MoveOrdering -- Used to score moves by how likely they are to be a good move
+ * This should theoretically help the speed of the search and prioritize certain moves in a "quiet" position
+ * The scores are used by the MovePicker to try the best moves first.
+ * Captures that lose material in a static exchange evaluation (see StaticExchange) are scored below every quiet move.
+ * Also keeps track of killer moves (quiet moves that caused a beta cutoff at the same ply in another position)
+ * and a history score for every piece/square pair that is used to order the remaining quiet moves.
+ * Quiet moves are also scored by what happened after the same previous moves (continuation history),
+ * and the quiet move that refuted each previous move is kept as a counter move.
+ * Previous moves are identified by their continuation index (see continuationIndex()).
+ */
+public class MoveOrdering {
+
+    // Increase capture score so that a capture of any kind is always the best move
+    private final static int pieceCaptureMultiplier = 10;
+    // Captures that lose material are tried after all quiet moves
+    private final static int losingCapturePenalty = 100000;
+
+    // Number of killer moves stored for every ply
+    public final static int numKillers = 2;
+
+    // History scores stay between -maxHistory and maxHistory
+    private final static int maxHistory = 16384;
+
+    // Used instead of a continuation index when there is no previous move (root or null move)
+    public final static int NO_CONTINUATION = -1;
+
+    private final ChessBoard board;
+    private final StaticExchange staticExchange;
+
+    private final int[][] killerMoves;
+    // History score of moving every piece index (see Bitboard.pieceIndex()) to every square
+    private final int[][] history;
+    // Best reply to every previous move, indexed by continuation index
+    private final int[] counterMoves;
+    // History score of every move after every previous move (one and two plies back share the same table)
+    private final int[][] continuationHistory;
+
+    /**
+     * @param board ChessBoard being searched.
+     * @param maxPly Maximum number of plies the search can reach.
+     */
+    public MoveOrdering(ChessBoard board, int maxPly){
+        this.board = board;
+        this.staticExchange = new StaticExchange(board);
+        this.killerMoves = new int[maxPly][numKillers];
+        this.history = new int[12][64];
+        this.counterMoves = new int[12*64];
+        this.continuationHistory = new int[12*64][12*64];
+    }
+
+    /**
+     * @param piece Piece index of the moved piece (see Bitboard.pieceIndex()).
+     * @param to Final square of the move.
+     * @return Index of the move in the counter move and continuation history tables.
+     */
+    public static int continuationIndex(int piece, int to){
+        return piece * 64 + to;
+    }
+
+    /**
+     * Scores a capture by prioritizing capturing a high value piece with a low value piece.
+     * Captures that lose material once every recapture is played out result in a negative score.
+     * @param move Packed capture to score.
+     * @return Score of the capture.
+     */
+    public int scoreCapture(int move){
+        Bitboard bitboard = board.getBitboard();
+
+        int attackerValue = Evaluation.getPieceValue(Bitboard.pieceType(bitboard.getPiece(MoveUtility.getFrom(move))));
+        // The pawn captured en passant isn't on the final square
+        int victimValue = MoveUtility.isEnPassant(move) ? Evaluation.getPieceValue(Piece.PAWN) : Evaluation.getPieceValue(Bitboard.pieceType(bitboard.getPiece(MoveUtility.getTo(move))));
+
+        int score = pieceCaptureMultiplier * victimValue - attackerValue;
+
+        // Prioritize promoting a pawn to a queen
+        if (MoveUtility.isPromotion(move)) score += Evaluation.getPieceValue(MoveUtility.getPromotionType(move));
+        // Capturing a less valuable piece is only losing if the piece can be won back
+        else if (victimValue < attackerValue && staticExchange.evaluate(move) < 0) score -= losingCapturePenalty;
+
+        return score;
+    }
+
+    /**
+     * Scores a quiet (non-capturing) move by its history and continuation history scores.
+     * @param move Packed quiet move to score.
+     * @param previousMove Continuation index of the previous move (or NO_CONTINUATION).
+     * @param secondPreviousMove Continuation index of the move before the previous move (or NO_CONTINUATION).
+     * @return Score of the move.
+     */
+    public int scoreQuiet(int move, int previousMove, int secondPreviousMove){
+        // Prioritize promoting a pawn to a queen
+        if (MoveUtility.isPromotion(move)) return 3 * maxHistory + Evaluation.getPieceValue(MoveUtility.getPromotionType(move));
+
+        int piece = board.getBitboard().getPiece(MoveUtility.getFrom(move));
+        int to = MoveUtility.getTo(move);
+        int index = continuationIndex(piece, to);
+
+        int score = history[piece][to];
+        if (previousMove != NO_CONTINUATION) score += continuationHistory[previousMove][index];
+        if (secondPreviousMove != NO_CONTINUATION) score += continuationHistory[secondPreviousMove][index];
+
+        return score;
+    }
+
+    /**
+     * Updates the history score of a quiet move after it was searched in a node that caused a beta cutoff.
+     * Uses gravity: the closer a score gets to the limit, the less it changes,
+     * so moves that stop causing cutoffs lose their score over time instead of staying at the top.
+     * @param move Packed quiet move (not made yet).
+     * @param depth Remaining depth of the node (deeper cutoffs are worth more).
+     * @param causedCutoff True for the move that caused the cutoff, false for quiet moves searched before it.
+     * @param previousMove Continuation index of the previous move (or NO_CONTINUATION).
+     * @param secondPreviousMove Continuation index of the move before the previous move (or NO_CONTINUATION).
+     */
+    public void updateHistory(int move, int depth, boolean causedCutoff, int previousMove, int secondPreviousMove){
+        int piece = board.getBitboard().getPiece(MoveUtility.getFrom(move));
+        int to = MoveUtility.getTo(move);
+        int index = continuationIndex(piece, to);
+
+        int bonus = Math.min(depth * depth, maxHistory);
+        if (!causedCutoff) bonus = -bonus;
+
+        history[piece][to] = applyBonus(history[piece][to], bonus);
+        if (previousMove != NO_CONTINUATION) continuationHistory[previousMove][index] = applyBonus(continuationHistory[previousMove][index], bonus);
+        if (secondPreviousMove != NO_CONTINUATION) continuationHistory[secondPreviousMove][index] = applyBonus(continuationHistory[secondPreviousMove][index], bonus);
+    }
+
+    private static int applyBonus(int score, int bonus){
+        return score + bonus - score * Math.abs(bonus) / maxHistory;
+    }
+
+    /**
+     * Stores the quiet move that caused a beta cutoff as the reply to the previous move.
+     * @param previousMove Continuation index of the previous move (or NO_CONTINUATION).
+     * @param move Packed move that caused the cutoff.
+     */
+    public void storeCounterMove(int previousMove, int move){
+        if (previousMove != NO_CONTINUATION) counterMoves[previousMove] = move;
+    }
+
+    /**
+     * @param previousMove Continuation index of the previous move (or NO_CONTINUATION).
+     * @return The counter move of the previous move or NULL_MOVE if there is none.
+     */
+    public int getCounterMove(int previousMove){
+        return previousMove != NO_CONTINUATION ? counterMoves[previousMove] : MoveUtility.NULL_MOVE;
+    }
+
+    /**
+     * Halves every history score so that moves from an earlier search count less than new ones.
+     */
+    public void ageHistory(){
+        for (int[] pieceHistory : history){
+            for (int i = 0; i < pieceHistory.length; i++) pieceHistory[i] /= 2;
+        }
+        for (int[] moveHistory : continuationHistory){
+            for (int i = 0; i < moveHistory.length; i++) moveHistory[i] /= 2;
+        }
+    }
+
+    /**
+     * Stores a quiet move that caused a beta cutoff.
+     * The newest killer is kept in the first slot.
+     * @param move Packed move that caused the cutoff.
+     * @param ply Current number of moves from the initial position.
+     */
+    public void storeKiller(int move, int ply){
+        int[] killers = killerMoves[ply];
+        if (killers[0] == move) return;
+
+        killers[1] = killers[0];
+        killers[0] = move;
+    }
+
+    public int getKiller(int ply, int slot){
+        return killerMoves[ply][slot];
+    }
+
+    public void clearKillers(){
+        for (int[] killers : killerMoves){
+            for (int i = 0; i < numKillers; i++) killers[i] = MoveUtility.NULL_MOVE;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.ChessBoard;
+import com.shynee.main.chess.MoveCalculator;
+import com.shynee.main.chess.MoveList;
+import com.shynee.main.chess.MoveUtility;
+
+/**
+ * MovePicker -- Hands out the legal moves of a position one at a time, best moves first.
+ * Moves are generated in stages so that work is only done for the moves that are actually searched:
+ * 1. Hash move (checked for legality without generating any other moves)
+ * 2. Winning and equal captures (ordered by MVV-LVA)
+ * 3. Killer moves and the counter move of the previous move (checked for legality without generating any other moves)
+ * 4. Quiet moves (only generated if none of the moves above caused a cutoff, ordered by history and continuation history)
+ * 5. Losing captures (captures that lose material in a static exchange evaluation)
+ * The quiescence search only gets the winning and equal captures, since a losing capture can't improve the position.
+ * Instead of sorting a whole list, the best remaining move is selected each time a move is requested.
+ * The search keeps one MovePicker for every ply.
+ */
+public class MovePicker {
+
+    // Stages of the main search
+    private final static int HASH_MOVE = 0;
+    private final static int GENERATE_CAPTURES = 1;
+    private final static int WINNING_CAPTURES = 2;
+    private final static int FIRST_KILLER = 3;
+    private final static int SECOND_KILLER = 4;
+    private final static int COUNTER_MOVE = 5;
+    private final static int GENERATE_QUIETS = 6;
+    private final static int QUIETS = 7;
+    private final static int LOSING_CAPTURES = 8;
+    // Stages of the quiescence search
+    private final static int GENERATE_QUIESCENCE_CAPTURES = 9;
+    private final static int QUIESCENCE_CAPTURES = 10;
+    private final static int DONE = 11;
+
+    private final ChessBoard board;
+    private final MoveOrdering moveOrdering;
+
+    private final MoveList captures;
+    private final MoveList quiets;
+
+    private int stage;
+    private int captureIndex;
+    private int quietIndex;
+
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private int counterMove;
+    private boolean color;
+
+    // Continuation indices of the last two moves (see MoveOrdering.continuationIndex())
+    private int previousMove;
+    private int secondPreviousMove;
+
+    public MovePicker(ChessBoard board, MoveOrdering moveOrdering){
+        this.board = board;
+        this.moveOrdering = moveOrdering;
+
+        this.captures = new MoveList();
+        this.quiets = new MoveList();
+    }
+
+    /**
+     * Prepares the picker for a position in the main search.
+     * @param hashMove Best move stored in the transposition table (or NULL_MOVE).
+     * @param plyFromRoot Current number of moves from the initial position (used to find killer moves).
+     * @param previousMove Continuation index of the previous move (or MoveOrdering.NO_CONTINUATION).
+     * @param secondPreviousMove Continuation index of the move before the previous move (or MoveOrdering.NO_CONTINUATION).
+     */
+    public void init(int hashMove, int plyFromRoot, int previousMove, int secondPreviousMove){
+        this.stage = HASH_MOVE;
+        this.color = board.colorToMove();
+        this.hashMove = hashMove;
+        this.firstKiller = moveOrdering.getKiller(plyFromRoot, 0);
+        this.secondKiller = moveOrdering.getKiller(plyFromRoot, 1);
+        this.counterMove = moveOrdering.getCounterMove(previousMove);
+        this.previousMove = previousMove;
+        this.secondPreviousMove = secondPreviousMove;
+    }
+
+    /**
+     * Prepares the picker for a position in the quiescence search (captures only).
+     */
+    public void initQuiescence(){
+        this.stage = GENERATE_QUIESCENCE_CAPTURES;
+        this.color = board.colorToMove();
+        this.hashMove = MoveUtility.NULL_MOVE;
+        this.firstKiller = MoveUtility.NULL_MOVE;
+        this.secondKiller = MoveUtility.NULL_MOVE;
+        this.counterMove = MoveUtility.NULL_MOVE;
+    }
+
+    /**
+     * @return The next best legal move or NULL_MOVE if every move has been picked.
+     */
+    public int nextMove(){
+        MoveCalculator moveCalculator = board.getMoveCalculator();
+
+        while (true){
+            switch (stage){
+                case HASH_MOVE -> {
+                    stage = GENERATE_CAPTURES;
+                    if (moveCalculator.isLegal(hashMove, color)) return hashMove;
+                }
+                case GENERATE_CAPTURES, GENERATE_QUIESCENCE_CAPTURES -> {
+                    moveCalculator.getLegalMoves(color, MoveCalculator.CAPTURES, captures);
+                    scoreCaptures();
+                    captureIndex = 0;
+                    stage = stage == GENERATE_CAPTURES ? WINNING_CAPTURES : QUIESCENCE_CAPTURES;
+                }
+                case WINNING_CAPTURES -> {
+                    // Losing captures have a negative score and are left for later
+                    if (captureIndex < captures.size() && selectBest(captures, captureIndex) >= 0){
+                        int move = captures.get(captureIndex++);
+                        if (move != hashMove) return move;
+                    } else {
+                        stage = FIRST_KILLER;
+                    }
+                }
+                case FIRST_KILLER -> {
+                    stage = SECOND_KILLER;
+                    if (isValidKiller(firstKiller)) return firstKiller;
+                }
+                case SECOND_KILLER -> {
+                    stage = COUNTER_MOVE;
+                    if (secondKiller != firstKiller && isValidKiller(secondKiller)) return secondKiller;
+                }
+                case COUNTER_MOVE -> {
+                    stage = GENERATE_QUIETS;
+                    if (counterMove != firstKiller && counterMove != secondKiller && isValidKiller(counterMove)) return counterMove;
+                }
+                case GENERATE_QUIETS -> {
+                    moveCalculator.getLegalMoves(color, MoveCalculator.QUIETS, quiets);
+                    scoreQuiets();
+                    quietIndex = 0;
+                    stage = QUIETS;
+                }
+                case QUIETS -> {
+                    if (quietIndex < quiets.size()){
+                        selectBest(quiets, quietIndex);
+                        int move = quiets.get(quietIndex++);
+                        if (move != hashMove && move != firstKiller && move != secondKiller && move != counterMove) return move;
+                    } else {
+                        stage = LOSING_CAPTURES;
+                    }
+                }
+                case QUIESCENCE_CAPTURES -> {
+                    // Losing captures are pruned
+                    if (captureIndex < captures.size() && selectBest(captures, captureIndex) >= 0){
+                        return captures.get(captureIndex++);
+                    } else {
+                        stage = DONE;
+                    }
+                }
+                case LOSING_CAPTURES -> {
+                    if (captureIndex < captures.size()){
+                        selectBest(captures, captureIndex);
+                        int move = captures.get(captureIndex++);
+                        if (move != hashMove) return move;
+                    } else {
+                        stage = DONE;
+                    }
+                }
+                default -> {
+                    return MoveUtility.NULL_MOVE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Killer moves and counter moves come from other positions, so they have to be quiet and legal in the current position.
+     * @param killer Packed killer move or counter move.
+     * @return True if the killer move can be played.
+     */
+    private boolean isValidKiller(int killer){
+        if (killer == MoveUtility.NULL_MOVE || killer == hashMove) return false;
+        if (board.isCapture(killer)) return false;
+
+        return board.getMoveCalculator().isLegal(killer, color);
+    }
+
+    private void scoreCaptures(){
+        for (int i = 0; i < captures.size(); i++){
+            captures.setScore(i, moveOrdering.scoreCapture(captures.get(i)));
+        }
+    }
+
+    private void scoreQuiets(){
+        for (int i = 0; i < quiets.size(); i++){
+            quiets.setScore(i, moveOrdering.scoreQuiet(quiets.get(i), previousMove, secondPreviousMove));
+        }
+    }
+
+    /**
+     * Moves the highest scoring move at or after an index to that index.
+     * Ties keep the generated order.
+     * @param moves List of scored moves.
+     * @param index Index of the first move that hasn't been picked.
+     * @return Score of the selected move.
+     */
+    private int selectBest(MoveList moves, int index){
+        int bestIndex = index;
+        for (int i = index+1; i < moves.size(); i++){
+            if (moves.getScore(i) > moves.getScore(bestIndex)) bestIndex = i;
+        }
+
+        if (bestIndex != index) moves.swap(bestIndex, index);
+        return moves.getScore(index);
+    }
+}
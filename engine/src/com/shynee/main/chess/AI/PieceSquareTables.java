@@ -0,0 +1,136 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.Bitboard;
+import com.shynee.main.chess.Piece;
+
+/**
+ * PieceSquareTables -- Values for every piece type on every square.
+ * The tables are written from white's side with rank 8 at the top, so white squares are flipped when they are read.
+ * Flipped tables for every piece index are built once for the middlegame and the endgame
+ * so the Bitboard can update its piece-square scores with a single lookup per moved piece.
+ */
+public class PieceSquareTables {
+
+    // Indexed by piece index (see Bitboard.pieceIndex()) and square, already flipped for the color of the piece
+    private final static int[][] middlegameTables = new int[12][64];
+    private final static int[][] endgameTables = new int[12][64];
+
+    /**
+     * Reads the value of a square for a piece of the given color.
+     * @param table Piece-square table written from white's side.
+     * @param squarePos Position of the piece.
+     * @param color Color of the piece.
+     * @return Value of the square.
+     */
+    public static int read(int[] table, int squarePos, boolean color){
+        // Flipping the rank of a square only changes bits 3-5
+        return table[color ? squarePos ^ 56 : squarePos];
+    }
+
+    public static int middlegame(int piece, int squarePos){
+        return middlegameTables[piece][squarePos];
+    }
+
+    public static int endgame(int piece, int squarePos){
+        return endgameTables[piece][squarePos];
+    }
+
+    public final static int[] pawns = {
+            0,  0,  0,  0,  0,  0,  0,  0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5,  5, 10, 25, 25, 10,  5,  5,
+            0,  0,  0, 20, 20,  0,  0,  0,
+            5, -5,-10,  0,  0,-10, -5,  5,
+            5, 10, 10,-20,-20, 10, 10,  5,
+            0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    public final static int[] knights = {
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50,
+    };
+
+    public final static int[] bishops = {
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20,
+    };
+
+    public final static int[] rooks = {
+            0,  0,  0,  0,  0,  0,  0,  0,
+            5, 10, 10, 10, 10, 10, 10,  5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            -5,  0,  0,  0,  0,  0,  0, -5,
+            0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    public final static int[] queens = {
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+            -5,  0,  5,  5,  5,  5,  0, -5,
+            0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    public final static int[] kingMiddle = {
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+            20, 20,  0,  0,  0,  0, 20, 20,
+            20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    public final static int[] kingEnd = {
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    static {
+        for (int i = 0; i < 2; i++){
+            boolean color = i == 0;
+
+            for (int square = 0; square < 64; square++){
+                fillTables(Piece.KING, color, square, kingMiddle, kingEnd);
+                fillTables(Piece.QUEEN, color, square, queens, queens);
+                fillTables(Piece.BISHOP, color, square, bishops, bishops);
+                fillTables(Piece.KNIGHT, color, square, knights, knights);
+                fillTables(Piece.ROOK, color, square, rooks, rooks);
+                fillTables(Piece.PAWN, color, square, pawns, pawns);
+            }
+        }
+    }
+
+    private static void fillTables(int type, boolean color, int square, int[] middlegameTable, int[] endgameTable){
+        int piece = Bitboard.pieceIndex(type, color);
+        middlegameTables[piece][square] = read(middlegameTable, square, color);
+        endgameTables[piece][square] = read(endgameTable, square, color);
+    }
+
+}
@@ -0,0 +1,619 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.ChessBoard;
+import com.shynee.main.chess.FenUtility;
+import com.shynee.main.chess.Move;
+import com.shynee.main.chess.MoveList;
+import com.shynee.main.chess.MoveUtility;
+import com.shynee.main.chess.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Search -- Used to search for the best possible move in a given position.
+ * The search can use multiple threads (Lazy SMP): every helper thread searches the same position
+ * on its own copy of the board with its own killer moves, and all threads share one transposition table.
+ * Helpers fill the table with positions the main thread finds later, and odd helpers start one depth deeper
+ * so that the threads don't all search the same positions at the same time.
+ * Only the result of the main thread is used.
+ */
+public class Search {
+
+    // Size of the transposition table in megabytes if no size is given
+    private final static int defaultHashSize = 64;
+    // The time is only checked every few thousand nodes since reading the clock is slow
+    private final static int timeCheckInterval = 2048;
+    // Uniquely identifiable number that will not conflict with search
+    private final static int mateScore = 100000;
+
+    // Late move reductions indexed by remaining depth and move number: later moves at higher depths are reduced more
+    private final static int[][] lateMoveReductions = new int[64][64];
+    static {
+        for (int depth = 1; depth < 64; depth++){
+            for (int moveNumber = 1; moveNumber < 64; moveNumber++){
+                lateMoveReductions[depth][moveNumber] = (int) (0.75 + Math.log(depth) * Math.log(moveNumber) / 2.25);
+            }
+        }
+    }
+
+    private final ChessBoard board;
+    private final MoveOrdering moveOrdering;
+    private final TranspositionTable tt;
+
+    // Searches of the helper threads (empty if the search is single-threaded)
+    private final Search[] helpers;
+    private final ExecutorService helperThreads;
+    // Number of the thread (0 = main thread)
+    private final int threadIndex;
+
+    // One reusable move picker for every ply so that the search never allocates move lists
+    private final MovePicker[] movePickers;
+    // Quiet moves searched at every ply, used to lower the history score of quiet moves that didn't cause a cutoff
+    private final int[][] quietsSearched;
+    // Continuation index of the move made at every ply (see MoveOrdering.continuationIndex())
+    private final int[] continuationStack;
+
+    private int bestMoveInIteration;
+    private int bestMove = MoveUtility.NULL_MOVE;
+    // Expected reply to the best move (second move of the principal variation)
+    private int ponderMove = MoveUtility.NULL_MOVE;
+
+    private int bestEvalInIteration;
+    // Nodes spent searching the best root move in the current iteration
+    private long bestMoveNodesInIteration;
+    private int bestEval;
+    private int finalDepth;
+    private long numTranspositions;
+    private long numPositions;
+
+    // Set by other threads (main search thread or the game) or when the time runs out
+    private volatile boolean abortSearch;
+
+    // Time limits of the current search (null if the search isn't timed)
+    private TimeManager timeManager;
+    private int nodesUntilTimeCheck;
+    // Legal moves of the root position (used to detect forced moves)
+    private final MoveList rootMoves;
+
+    // Extreme numbers that can be used as alpha/beta values
+    private final int positiveInfinity = 9999999;
+    private final int negativeInfinity = -positiveInfinity;
+    // Maximum number of plies the search (including quiescence search) can reach
+    private final int maxPly = 256;
+
+    // Aspiration windows: iterations from this depth start with a small window around the previous evaluation
+    private final int aspirationDepth = 4;
+    private final int aspirationWindow = 50;
+    // Windows wider than this are replaced by an infinite window
+    private final int maxAspirationWindow = 1000;
+
+    // Null move pruning is used from this depth, and the null move search is reduced by this many plies (one more at high depths)
+    private final int nullMoveDepth = 3;
+    private final int nullMoveReduction = 2;
+    // Below this much material (without pawns), zugzwang is likely and null move cutoffs are verified
+    private final int nullMoveVerifyMaterial = Evaluation.getPieceValue(Piece.ROOK) + Evaluation.getPieceValue(Piece.BISHOP);
+
+    // Late move reductions are used from this depth, for moves after the first few moves of the ordered list
+    private final int lateMoveDepth = 3;
+    private final int lateMoveNumber = 4;
+    // Every this much history score changes the reduction of a move by one ply
+    private final int lateMoveHistoryDivisor = 8192;
+
+    // Shallow depth pruning: maximum remaining depth and margin per ply of remaining depth
+    private final int reverseFutilityDepth = 5;
+    private final int reverseFutilityMargin = 100;
+    private final int futilityDepth = 3;
+    private final int futilityMargin = 150;
+    private final int razorDepth = 2;
+    private final int razorMargin = 300;
+
+    public Search(ChessBoard board){
+        this(board, 1);
+    }
+
+    /**
+     * @param board ChessBoard to search (only used by the main thread).
+     * @param numThreads Number of threads used to search (including the main thread).
+     */
+    public Search(ChessBoard board, int numThreads){
+        this(board, numThreads, defaultHashSize);
+    }
+
+    /**
+     * @param board ChessBoard to search (only used by the main thread).
+     * @param numThreads Number of threads used to search (including the main thread).
+     * @param hashSize Size of the transposition table shared by every thread in megabytes.
+     */
+    public Search(ChessBoard board, int numThreads, int hashSize){
+        this(board, new TranspositionTable(TranspositionTable.entriesForMegabytes(hashSize)), 0, numThreads-1);
+    }
+
+    /**
+     * @param board ChessBoard to search.
+     * @param tt Transposition table shared by every thread.
+     * @param threadIndex Number of the thread (0 = main thread).
+     * @param numHelpers Number of helper threads started by this search.
+     */
+    private Search(ChessBoard board, TranspositionTable tt, int threadIndex, int numHelpers){
+        this.board = board;
+        this.tt = tt;
+        this.threadIndex = threadIndex;
+        this.moveOrdering = new MoveOrdering(board, maxPly);
+
+        this.movePickers = new MovePicker[maxPly];
+        for (int i = 0; i < maxPly; i++){
+            movePickers[i] = new MovePicker(board, moveOrdering);
+        }
+        this.quietsSearched = new int[maxPly][MoveList.MAX_MOVES];
+        this.continuationStack = new int[maxPly];
+        this.rootMoves = new MoveList();
+
+        this.helpers = new Search[numHelpers];
+        for (int i = 0; i < numHelpers; i++){
+            // Each helper gets its own board so that threads never make moves on the same board
+            helpers[i] = new Search(new ChessBoard(FenUtility.savePosition(board)), tt, i+1, 0);
+        }
+
+        // Daemon threads don't keep the program running after the game is closed
+        this.helperThreads = numHelpers > 0 ? Executors.newFixedThreadPool(numHelpers, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Search a given position with a target depth.
+     * Stops the search when the target depth is reached, mate is found, or the search is aborted
+     * @param targetDepth Max depth the search can run to.
+     * @return Best possible move in the position.
+     */
+    public Move startSearch(int targetDepth){
+        return startSearch(targetDepth, null);
+    }
+
+    /**
+     * Search a given position with a target depth and time limits.
+     * Stops the search when the target depth is reached, mate is found, or the time manager runs out of time
+     * @param targetDepth Max depth the search can run to.
+     * @param timeManager Started time manager of the search (or null for no time limit).
+     * @return Best possible move in the position.
+     */
+    public Move startSearch(int targetDepth, TimeManager timeManager){
+        abortSearch = false;
+        this.timeManager = timeManager;
+        this.nodesUntilTimeCheck = timeCheckInterval;
+
+        // The table is kept between searches, older entries are only replaced first
+        tt.newSearch();
+
+        // Start the helpers on the current position
+        List<Future<?>> helperResults = new ArrayList<>();
+        for (Search helper : helpers){
+            helper.board.copyPosition(board);
+            helper.abortSearch = false;
+            helperResults.add(helperThreads.submit(() -> helper.iterativeDeepening(targetDepth)));
+        }
+
+        iterativeDeepening(targetDepth);
+
+        // The main thread is done, so the helpers' results aren't needed anymore
+        long totalPositions = numPositions;
+        for (int i = 0; i < helpers.length; i++){
+            helpers[i].abortSearch = true;
+            try {
+                helperResults.get(i).get();
+            } catch (InterruptedException | ExecutionException e){
+                throw new RuntimeException("Search helper failed", e);
+            }
+            totalPositions += helpers[i].numPositions;
+        }
+
+        System.out.println("depth: " + finalDepth);
+        System.out.println("eval: " + bestEval);
+        System.out.println("transPos: " + numTranspositions);
+        System.out.println("pos: " + totalPositions);
+
+        this.ponderMove = findPonderMove();
+
+        return bestMove != MoveUtility.NULL_MOVE ? Move.fromPacked(bestMove) : null;
+    }
+
+    /**
+     * Looks up the best reply to the best move in the transposition table.
+     * @return The expected reply or NULL_MOVE if there is none.
+     */
+    private int findPonderMove(){
+        if (bestMove == MoveUtility.NULL_MOVE) return MoveUtility.NULL_MOVE;
+
+        board.makeMove(bestMove, true);
+        int reply = tt.getMove(board.zobristKey);
+        // The table can contain a move from another position with the same index
+        if (!board.getMoveCalculator().isLegal(reply, board.colorToMove())) reply = MoveUtility.NULL_MOVE;
+        board.unmakeMove(bestMove, true);
+
+        return reply;
+    }
+
+    /**
+     * @return The expected reply to the move found by the last search (NULL_MOVE if unknown).
+     */
+    public int getPonderMove(){
+        return ponderMove;
+    }
+
+    /**
+     * Searches the position one depth at a time until the target depth is reached, mate is found or the search is aborted.
+     * Odd helper threads skip the first depth to stagger the depths searched by the threads.
+     * @param targetDepth Max depth the search can run to.
+     */
+    private void iterativeDeepening(int targetDepth){
+        numTranspositions = 0;
+        numPositions = 0;
+        bestMove = MoveUtility.NULL_MOVE;
+        bestMoveInIteration = MoveUtility.NULL_MOVE;
+        boolean isIterative = true;
+
+        bestEval = 0;
+        finalDepth = 0;
+
+        moveOrdering.clearKillers();
+        moveOrdering.ageHistory();
+
+        double bestMoveChanges = 0;
+        board.getMoveCalculator().getLegalMoves(board, board.colorToMove(), rootMoves);
+
+        if (isIterative){
+            for (int i = 1 + threadIndex % 2; i <= targetDepth; i++){
+                long iterationStart = System.nanoTime();
+                long iterationStartNodes = numPositions;
+                int previousBestMove = bestMove;
+                int previousEval = bestEval;
+
+                bestMoveNodesInIteration = 0;
+                aspirationSearch(i);
+
+                if (abortSearch) {
+                    // Use the partial result if not even the first iteration finished
+                    if (bestMove == MoveUtility.NULL_MOVE) bestMove = bestMoveInIteration;
+                    break;
+                }
+
+                bestMove = bestMoveInIteration;
+                bestEval = bestEvalInIteration;
+                finalDepth = i;
+
+                // Stop the search if mate is found
+                if (isMateScore(bestEval) && finalDepth > 2){
+                    break;
+                }
+
+                if (timeManager != null){
+                    // There is nothing to think about if there is only one legal move
+                    if (rootMoves.size() == 1 && !timeManager.isPondering()) break;
+
+                    // Older changes of the best move count less than new ones
+                    bestMoveChanges = bestMoveChanges / 2 + (bestMove != previousBestMove && i > 1 ? 1 : 0);
+                    int scoreDrop = i > 1 ? previousEval - bestEval : 0;
+                    long iterationNodes = numPositions - iterationStartNodes;
+                    double bestMoveNodeFraction = iterationNodes > 0 ? (double) bestMoveNodesInIteration / iterationNodes : 0;
+                    timeManager.updateStability(bestMoveChanges, scoreDrop, bestMoveNodeFraction);
+
+                    // Stop the search if the next iteration can't finish in time
+                    long iterationTime = (System.nanoTime() - iterationStart) / 1000000;
+                    if (!timeManager.canStartIteration(iterationTime)) break;
+                }
+            }
+        }else {
+            search(targetDepth, negativeInfinity, positiveInfinity, 0, true);
+        }
+    }
+
+    /**
+     * Searches the root with a small window around the evaluation of the previous iteration.
+     * A smaller window causes more cutoffs, but if the evaluation falls outside the window
+     * the side that failed is widened and the root is searched again.
+     * @param depth Depth of the iteration.
+     */
+    private void aspirationSearch(int depth){
+        int window = aspirationWindow;
+        int alpha = negativeInfinity;
+        int beta = positiveInfinity;
+
+        // Mate scores change too much between iterations to guess a window
+        if (depth >= aspirationDepth && !isMateScore(bestEval)){
+            alpha = bestEval - window;
+            beta = bestEval + window;
+        }
+
+        while (true){
+            int eval = search(depth, alpha, beta, 0, true);
+            if (abortSearch) return;
+
+            if (eval <= alpha && alpha != negativeInfinity){
+                // Fail low: every move is worse than expected
+                window *= 2;
+                alpha = window > maxAspirationWindow ? negativeInfinity : eval - window;
+            } else if (eval >= beta && beta != positiveInfinity){
+                // Fail high: a move is better than expected
+                window *= 2;
+                beta = window > maxAspirationWindow ? positiveInfinity : eval + window;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Performs recursive NegaMax search with alpha-beta pruning.
+     * Uses principal variation search: after the first move, every move is searched with a null window
+     * that only proves the move is worse than the best move so far.
+     * Moves that turn out to be better are searched again with the full window.
+     * Quiet moves late in the move ordering are searched with a reduced depth first (late move reductions)
+     * and only searched to the full depth if they turn out to be better than the best move so far.
+     * @param depth Maximum number of moves looked ahead.
+     * @param alpha Lower bounds for search values (initially set to negative infinity)
+     * @param beta Upper bounds for search values (initially set to infinity)
+     * @param plyFromRoot Current number of moves from initial position
+     * @param allowNullMove False right after a null move (two null moves in a row would search the same position again)
+     * @return Maximum evaluation of position
+     */
+    private int search(int depth, int alpha, int beta, int plyFromRoot, boolean allowNullMove){
+        numPositions++;
+        checkTime();
+        if (abortSearch) return 0;
+
+        if (plyFromRoot > 0){
+            // Check for draw by repetition, move counter or insufficient material
+            if (board.isDraw()) return 0;
+
+            // Any mate we find cannot be better than one we already found
+            alpha = Math.max(alpha, -mateScore+plyFromRoot);
+            beta = Math.min(beta, mateScore-plyFromRoot);
+            if (alpha>=beta)
+                return alpha;
+        }
+
+        // Check if the position has already been searched
+        // The root is always searched since the table can contain it from an earlier search with another move history
+        if (plyFromRoot > 0){
+            int t = tt.lookupEvaluation(board.zobristKey, depth, alpha, beta, plyFromRoot);
+            if (t != TranspositionTable.LOOKUP_FAILED){
+                numTranspositions++;
+                return t;
+            }
+        }
+
+        if (depth == 0) {
+            return quiescenceSearch(alpha, beta, plyFromRoot);
+        }
+
+        boolean inCheck = board.isWhiteCheck || board.isBlackCheck;
+        // Shallow depth pruning is only safe in null window nodes, where the exact score isn't needed
+        boolean canPrune = plyFromRoot > 0 && beta - alpha == 1 && !inCheck && !isMateScore(alpha) && !isMateScore(beta);
+        int staticEval = canPrune ? Evaluation.evaluate(board) : 0;
+
+        if (canPrune){
+            // Reverse futility pruning: the position is so good that no opponent move is likely to bring it back below beta
+            if (depth <= reverseFutilityDepth && staticEval - reverseFutilityMargin * depth >= beta) return beta;
+
+            // Razoring: the position is so bad that only captures can bring it back above alpha
+            if (depth <= razorDepth && staticEval + razorMargin * depth < alpha){
+                if (quiescenceSearch(alpha, beta, plyFromRoot) <= alpha) return alpha;
+            }
+        }
+
+        // Null move pruning: if the position is still too good after passing the turn, a real move will be too
+        if (allowNullMove && canPrune && shouldTryNullMove(depth, staticEval, beta)){
+            int reducedDepth = Math.max(0, depth - 1 - nullMoveReduction - (depth > 6 ? 1 : 0));
+
+            continuationStack[plyFromRoot] = MoveOrdering.NO_CONTINUATION;
+            board.makeNullMove();
+            int eval = -search(reducedDepth, -beta, -beta+1, plyFromRoot+1, false);
+            board.unmakeNullMove();
+
+            if (abortSearch) return 0;
+
+            if (eval >= beta){
+                // Passing can be the best move in endgames (zugzwang), so the cutoff is confirmed with a normal search
+                if (getNonPawnMaterial(board.colorToMove()) >= nullMoveVerifyMaterial) return beta;
+                if (search(reducedDepth, beta-1, beta, plyFromRoot, false) >= beta) return beta;
+            }
+        }
+
+        // Moves are generated lazily, starting with the best move found the last time this position was searched
+        MovePicker movePicker = movePickers[plyFromRoot];
+        int previousMove = getPreviousMove(plyFromRoot, 1);
+        int secondPreviousMove = getPreviousMove(plyFromRoot, 2);
+        movePicker.init(tt.getMove(board.zobristKey), plyFromRoot, previousMove, secondPreviousMove);
+
+        int hashFlag = TranspositionTable.UPPER;
+        int bestMoveInPosition = MoveUtility.NULL_MOVE;
+        int numMoves = 0;
+        int numQuiets = 0;
+
+        int legalMove;
+        while ((legalMove = movePicker.nextMove()) != MoveUtility.NULL_MOVE) {
+            boolean isCapture = board.isCapture(legalMove);
+            numMoves++;
+
+            // Quiet moves that often caused cutoffs after the same moves are reduced less
+            int quietScore = isCapture ? 0 : moveOrdering.scoreQuiet(legalMove, previousMove, secondPreviousMove);
+            continuationStack[plyFromRoot] = MoveOrdering.continuationIndex(board.getBitboard().getPiece(MoveUtility.getFrom(legalMove)), MoveUtility.getTo(legalMove));
+            long nodesBeforeMove = numPositions;
+
+            board.makeMove(legalMove, true);
+            boolean givesCheck = board.isWhiteCheck || board.isBlackCheck;
+
+            // Futility pruning: near the leaves, a quiet move can't make up for a static evaluation far below alpha
+            if (canPrune && depth <= futilityDepth && numMoves > 1 && !isCapture && !givesCheck && !MoveUtility.isPromotion(legalMove)
+                    && staticEval + futilityMargin * depth <= alpha){
+                board.unmakeMove(legalMove, true);
+                continue;
+            }
+
+            int eval;
+            if (numMoves == 1){
+                eval = -search(depth-1, -beta, -alpha, plyFromRoot+1, true);
+            } else {
+                int reduction = 0;
+                if (depth >= lateMoveDepth && numMoves > lateMoveNumber && !inCheck && !givesCheck && !isCapture
+                        && !MoveUtility.isPromotion(legalMove) && !isKiller(legalMove, plyFromRoot) && legalMove != moveOrdering.getCounterMove(previousMove)){
+                    reduction = lateMoveReductions[Math.min(depth, 63)][Math.min(numMoves, 63)];
+                    reduction = Math.max(0, reduction - quietScore / lateMoveHistoryDivisor);
+                }
+
+                eval = -search(Math.max(0, depth-1-reduction), -alpha-1, -alpha, plyFromRoot+1, true);
+                // The reduced search found a better move, so make sure with a full depth search
+                if (eval > alpha && reduction > 0) eval = -search(depth-1, -alpha-1, -alpha, plyFromRoot+1, true);
+                if (eval > alpha && eval < beta) eval = -search(depth-1, -beta, -alpha, plyFromRoot+1, true);
+            }
+            board.unmakeMove(legalMove, true);
+            // The score of an aborted search can't be stored or used for move ordering
+            if (abortSearch) return 0;
+
+            // This position is worse than one we have already found
+            if (eval >= beta) {
+                tt.storeEvaluation(board.zobristKey, depth, TranspositionTable.LOWER, eval, legalMove, plyFromRoot);
+                // Quiet moves that cause a cutoff are likely to cause one in sibling positions too
+                if (!isCapture) {
+                    moveOrdering.storeKiller(legalMove, plyFromRoot);
+                    moveOrdering.storeCounterMove(previousMove, legalMove);
+                    moveOrdering.updateHistory(legalMove, depth, true, previousMove, secondPreviousMove);
+                    for (int i = 0; i < numQuiets; i++) moveOrdering.updateHistory(quietsSearched[plyFromRoot][i], depth, false, previousMove, secondPreviousMove);
+                }
+                return beta;
+            }
+
+            if (!isCapture) quietsSearched[plyFromRoot][numQuiets++] = legalMove;
+
+            if (bestMoveInPosition == MoveUtility.NULL_MOVE) bestMoveInPosition = legalMove;
+
+            // This is the best position so far
+            if (eval > alpha) {
+                alpha = eval;
+                hashFlag = TranspositionTable.EXACT;
+                bestMoveInPosition = legalMove;
+                if (plyFromRoot == 0) {
+                    this.bestMoveInIteration = legalMove;
+                    this.bestEvalInIteration = eval;
+                    this.bestMoveNodesInIteration = numPositions - nodesBeforeMove;
+                }
+            }
+        }
+
+        if (numMoves == 0){
+            if (board.isWhiteCheck || board.isBlackCheck){ //Checkmate
+                return -1*(mateScore-plyFromRoot);
+            }
+            return 0; //Stalemate
+        }
+
+        tt.storeEvaluation(board.zobristKey, depth, hashFlag, alpha, bestMoveInPosition, plyFromRoot);
+
+        return alpha;
+    }
+
+    /**
+     * Null moves are only tried in null window nodes that aren't in check (see canPrune), with a static evaluation above beta.
+     * The side to move needs pieces other than pawns, since king and pawn endgames are often zugzwang.
+     * @param depth Remaining depth of the node.
+     * @param staticEval Static evaluation of the node.
+     * @param beta Beta value of the node.
+     * @return True if null move pruning should be tried.
+     */
+    private boolean shouldTryNullMove(int depth, int staticEval, int beta){
+        if (depth < nullMoveDepth) return false;
+        if (getNonPawnMaterial(board.colorToMove()) == 0) return false;
+
+        return staticEval >= beta;
+    }
+
+    /**
+     * @param plyFromRoot Current number of moves from initial position.
+     * @param pliesBack Number of plies to look back (1 = the move that led to this position).
+     * @return Continuation index of the earlier move or NO_CONTINUATION if it was a null move or made before the search.
+     */
+    private int getPreviousMove(int plyFromRoot, int pliesBack){
+        return plyFromRoot >= pliesBack ? continuationStack[plyFromRoot - pliesBack] : MoveOrdering.NO_CONTINUATION;
+    }
+
+    private boolean isKiller(int move, int plyFromRoot){
+        return move == moveOrdering.getKiller(plyFromRoot, 0) || move == moveOrdering.getKiller(plyFromRoot, 1);
+    }
+
+    private int getNonPawnMaterial(boolean color){
+        return board.getBitboard().getMaterial(color) - board.numPieces(Piece.PAWN, color) * Evaluation.getPieceValue(Piece.PAWN);
+    }
+
+    /**
+     * Performs a limited search of all captures that don't lose material before returning a static evaluation.
+     * Used to prevent a false evaluation because search stopped right
+     * before the opponent was able to capture your piece.
+     *
+     * @param alpha Alpha value of the search
+     * @param beta Beta value of the search
+     * @param plyFromRoot Current number of moves from initial position
+     * @return Static evaluation after all captures have been processed.
+     */
+    private int quiescenceSearch(int alpha, int beta, int plyFromRoot){
+        checkTime();
+        if (abortSearch) return 0;
+
+        int eval = Evaluation.evaluate(board);
+
+        if (eval >= beta) return beta;
+        if (eval > alpha) alpha = eval;
+        if (plyFromRoot >= maxPly) return alpha;
+
+        MovePicker movePicker = movePickers[plyFromRoot];
+        movePicker.initQuiescence();
+
+        int move;
+        while ((move = movePicker.nextMove()) != MoveUtility.NULL_MOVE) {
+            board.makeMove(move, true);
+            eval = -quiescenceSearch(-beta, -alpha, plyFromRoot+1);
+            board.unmakeMove(move, true);
+
+            if (eval >= beta) return beta;
+            if (eval > alpha) alpha = eval;
+        }
+
+        return alpha;
+    }
+
+    /**
+     * Detects if a score is checkmate.
+     * It does this by adding the max ply-from-root (1000)
+     * and seeing if the score is above the default mate score.
+     *
+     * @param score The score to be checked.
+     * @return true if the score is a checkmate score
+     */
+    public static boolean isMateScore(int score){
+        return Math.abs(score) + 1000 > mateScore;
+    }
+
+    /**
+     * Aborts the search (including the helpers) if the hard time limit is reached.
+     * Only the main thread has a time manager.
+     */
+    private void checkTime(){
+        if (timeManager == null || --nodesUntilTimeCheck > 0) return;
+
+        nodesUntilTimeCheck = timeCheckInterval;
+        if (timeManager.isHardLimitReached()) abortSearch();
+    }
+
+    public void abortSearch(){
+        abortSearch = true;
+        for (Search helper : helpers) helper.abortSearch = true;
+    }
+
+
+}
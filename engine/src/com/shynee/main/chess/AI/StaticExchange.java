@@ -0,0 +1,109 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.Attacks;
+import com.shynee.main.chess.Bitboard;
+import com.shynee.main.chess.ChessBoard;
+import com.shynee.main.chess.MoveUtility;
+import com.shynee.main.chess.Piece;
+
+/**
+ * StaticExchange -- Static exchange evaluation (SEE) of a capture.
+ * Plays out every capture on the target square, always recapturing with the least valuable piece,
+ * and returns the material the side making the first capture wins (or loses).
+ * Either side can stop capturing when continuing would lose material.
+ * Pieces behind other pieces (x-rays) join the exchange once the piece in front of them has captured.
+ */
+public class StaticExchange {
+
+    // Capturing with the king is only possible if no other pieces can recapture
+    private final static int kingValue = 10000;
+
+    // Types ordered from least to most valuable
+    private final static int[] attackerOrder = {Piece.PAWN, Piece.KNIGHT, Piece.BISHOP, Piece.ROOK, Piece.QUEEN, Piece.KING};
+
+    private final ChessBoard board;
+
+    // Material gained after every capture of the exchange (at most 32 pieces can capture on one square)
+    private final int[] gain;
+
+    public StaticExchange(ChessBoard board){
+        this.board = board;
+        this.gain = new int[32];
+    }
+
+    /**
+     * Evaluates the exchange started by a capture.
+     * Promotions are scored as a normal pawn capture.
+     * @param move Packed capture that hasn't been made yet.
+     * @return Net material won by the side making the capture (negative if the capture loses material).
+     */
+    public int evaluate(int move){
+        Bitboard bitboard = board.getBitboard();
+
+        int from = MoveUtility.getFrom(move);
+        int to = MoveUtility.getTo(move);
+
+        int attacker = bitboard.getPiece(from);
+        boolean color = Bitboard.pieceColor(attacker);
+        long occupied = bitboard.getOccupied();
+
+        if (MoveUtility.isEnPassant(move)){
+            // The pawn captured en passant is behind the final square
+            occupied ^= 1L << (color ? to - 8 : to + 8);
+            gain[0] = Evaluation.getPieceValue(Piece.PAWN);
+        } else {
+            gain[0] = getValue(Bitboard.pieceType(bitboard.getPiece(to)));
+        }
+
+        long diagonalSliders = bitboard.getPieces(Piece.BISHOP, true) | bitboard.getPieces(Piece.BISHOP, false)
+                | bitboard.getPieces(Piece.QUEEN, true) | bitboard.getPieces(Piece.QUEEN, false);
+        long straightSliders = bitboard.getPieces(Piece.ROOK, true) | bitboard.getPieces(Piece.ROOK, false)
+                | bitboard.getPieces(Piece.QUEEN, true) | bitboard.getPieces(Piece.QUEEN, false);
+
+        long attackers = board.getMoveCalculator().getAttackers(to, true, occupied) | board.getMoveCalculator().getAttackers(to, false, occupied);
+
+        int attackerType = Bitboard.pieceType(attacker);
+        long attackerBit = 1L << from;
+        int depth = 0;
+
+        while (attackerBit != 0){
+            depth++;
+            // Material gained if the current attacker captures and is then captured itself
+            gain[depth] = getValue(attackerType) - gain[depth-1];
+
+            // Neither side can gain anything by continuing
+            if (Math.max(-gain[depth-1], gain[depth]) < 0) break;
+
+            occupied ^= attackerBit;
+
+            // Removing the attacker can reveal a slider behind it
+            attackers |= Attacks.bishopAttacks(to, occupied) & diagonalSliders;
+            attackers |= Attacks.rookAttacks(to, occupied) & straightSliders;
+            attackers &= occupied;
+
+            color = !color;
+            attackerBit = 0;
+
+            long colorAttackers = attackers & bitboard.getColorPieces(color);
+            for (int type : attackerOrder){
+                long pieces = colorAttackers & bitboard.getPieces(type, color);
+                if (pieces != 0){
+                    attackerBit = pieces & -pieces;
+                    attackerType = type;
+                    break;
+                }
+            }
+        }
+
+        // Each side picks the better of capturing or stopping, starting from the end of the exchange
+        while (--depth > 0){
+            gain[depth-1] = -Math.max(-gain[depth-1], gain[depth]);
+        }
+
+        return gain[0];
+    }
+
+    private static int getValue(int pieceType){
+        return pieceType == Piece.KING ? kingValue : Evaluation.getPieceValue(pieceType);
+    }
+}
@@ -0,0 +1,148 @@
+package com.shynee.main.chess.AI;
+
+/**
+ * TimeManager -- Decides how long the search can think about a move.
+ * Uses two limits computed from the remaining clock time:
+ * - Soft limit: no new iteration is started after this time (or if the next iteration isn't expected to finish in time)
+ * - Hard limit: the search is aborted in the middle of an iteration
+ * The search polls the hard limit every few thousand nodes, so no timer thread is needed.
+ * After every iteration the soft limit is scaled by how stable the search is:
+ * more time is used when the best move keeps changing or the evaluation drops,
+ * and less time when most of the nodes are spent proving the best move is better than the others.
+ * While pondering (searching on the opponent's time) there are no limits until the opponent makes the expected move,
+ * then the limits are computed from that moment on while the search keeps running.
+ */
+public class TimeManager {
+
+    // Number of moves the remaining time is divided between if the number of moves until the next time control is unknown
+    private final static int defaultMovesToGo = 30;
+    // Time kept in reserve so that the clock never runs out (e.g. time needed to make the move)
+    private final static long safetyMargin = 50;
+    // The hard limit can be this many times the soft limit
+    private final static int hardLimitMultiplier = 4;
+    // Expected time of an iteration compared to the previous iteration
+    private final static int branchingFactor = 2;
+    // Limits of the soft limit scale
+    private final static double minScale = 0.3;
+    private final static double maxScale = 3;
+    // An evaluation drop of this much (or more) doubles the time
+    private final static int maxScoreDrop = 100;
+
+    // Changed by the game thread while the search is pondering
+    private volatile long startTime;
+    // Soft limit before it is scaled by the stability of the search
+    private volatile long baseSoftLimit;
+    private volatile long softLimit;
+    private volatile long hardLimit;
+    private volatile boolean pondering;
+
+    /**
+     * Starts timing a search using the remaining clock time.
+     * @param remainingTime Time left on the clock in milliseconds.
+     * @param increment Time added to the clock after every move in milliseconds.
+     * @param movesToGo Number of moves until the next time control (0 if unknown).
+     */
+    public void start(long remainingTime, long increment, int movesToGo){
+        long usableTime = Math.max(1, remainingTime - safetyMargin);
+        int moves = movesToGo > 0 ? movesToGo : defaultMovesToGo;
+
+        // On a ponder hit the search is still polling the limits, so the start time has to change before the limits
+        // (otherwise the new limits could be compared with the time since the ponder search started)
+        this.startTime = System.nanoTime();
+        this.baseSoftLimit = Math.min(usableTime, usableTime / moves + increment * 3 / 4);
+        this.softLimit = baseSoftLimit;
+        this.hardLimit = Math.min(usableTime, softLimit * hardLimitMultiplier);
+        this.pondering = false;
+    }
+
+    /**
+     * Starts timing a search with a fixed time for the move.
+     * @param moveTime Time for the move in milliseconds.
+     */
+    public void startFixed(long moveTime){
+        this.startTime = System.nanoTime();
+        this.baseSoftLimit = moveTime;
+        this.softLimit = moveTime;
+        this.hardLimit = moveTime;
+        this.pondering = false;
+    }
+
+    /**
+     * Starts timing a search on the opponent's time (the search only stops when it is aborted or the limits are set by ponderHit()).
+     */
+    public void startPonder(){
+        this.startTime = System.nanoTime();
+        this.baseSoftLimit = Long.MAX_VALUE;
+        this.softLimit = Long.MAX_VALUE;
+        this.hardLimit = Long.MAX_VALUE;
+        this.pondering = true;
+    }
+
+    /**
+     * Called when the opponent made the move the search is pondering on.
+     * The running search keeps everything it found so far and gets normal limits starting now.
+     * @param remainingTime Time left on the clock in milliseconds.
+     * @param increment Time added to the clock after every move in milliseconds.
+     * @param movesToGo Number of moves until the next time control (0 if unknown).
+     */
+    public void ponderHit(long remainingTime, long increment, int movesToGo){
+        start(remainingTime, increment, movesToGo);
+    }
+
+    /**
+     * Makes the search stop as soon as it checks the time (used to stop pondering when the opponent didn't make the expected move).
+     */
+    public void stop(){
+        this.pondering = false;
+        this.softLimit = 0;
+        this.hardLimit = 0;
+    }
+
+    public boolean isPondering(){
+        return pondering;
+    }
+
+    /**
+     * Scales the soft limit by the stability of the search after an iteration.
+     * @param bestMoveChanges Number of times the best move changed in recent iterations (older changes count less).
+     * @param scoreDrop How much the evaluation dropped since the previous iteration (negative if it increased).
+     * @param bestMoveNodeFraction Fraction of the nodes of the iteration spent on the best move (0 if unknown).
+     */
+    public void updateStability(double bestMoveChanges, int scoreDrop, double bestMoveNodeFraction){
+        if (pondering) return;
+
+        double scale = 1 + bestMoveChanges / 2;
+
+        if (scoreDrop > 0) scale *= 1 + (double) Math.min(scoreDrop, maxScoreDrop) / maxScoreDrop;
+        // A best move that takes most of the nodes is rarely replaced
+        if (bestMoveNodeFraction > 0) scale *= 1.5 - bestMoveNodeFraction;
+
+        scale = Math.max(minScale, Math.min(maxScale, scale));
+        this.softLimit = Math.min(hardLimit, (long) (baseSoftLimit * scale));
+    }
+
+    /**
+     * @return Milliseconds since the search started.
+     */
+    public long getElapsedTime(){
+        return (System.nanoTime() - startTime) / 1000000;
+    }
+
+    /**
+     * @return True if the search has to be aborted immediately.
+     */
+    public boolean isHardLimitReached(){
+        return getElapsedTime() >= hardLimit;
+    }
+
+    /**
+     * Checks if another iteration should be started.
+     * An iteration takes longer than the previous one, so there is no point starting one that will be aborted by the hard limit.
+     * @param lastIterationTime Milliseconds the last iteration took.
+     * @return True if the next iteration is expected to finish in time.
+     */
+    public boolean canStartIteration(long lastIterationTime){
+        long elapsed = getElapsedTime();
+        return elapsed < softLimit && elapsed + lastIterationTime * branchingFactor < hardLimit;
+    }
+}
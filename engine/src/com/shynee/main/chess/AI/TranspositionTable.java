@@ -0,0 +1,198 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.MoveUtility;
+
+/**
+ * TranspositionTable: Used to store/lookup board positions in order to remove searching equivalent positions
+ * The table can be shared by every search thread without locks:
+ * every entry is packed into one long and stored next to the zobrist key xor-ed with that long.
+ * If two threads write the same entry at the same time, the key no longer matches the data and the entry is ignored.
+ * The table is kept between searches. Every entry is tagged with the generation (search number) it was stored in,
+ * and entries from older searches are replaced first.
+ * Mate scores are stored as the distance to mate from the stored position instead of from the root,
+ * so that they stay correct when the position is reached at another ply or in a later search.
+ */
+public class TranspositionTable {
+
+    /*
+     Because of alpha-beta pruning, any position we store may be
+     the exact evaluation or the current alpha/beta values at the time.
+     To get around this issue, we use a flag to determine
+     whether the position was an upper or lower bound.
+     */
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    // Returned by lookupEvaluation() when the position can't be used
+    public static final int LOOKUP_FAILED = Integer.MIN_VALUE;
+
+    // Layout of the packed entry: eval (bits 0-31), move (bits 32-49), flag (bits 50-51), depth (bits 52-59), generation (bits 60-63)
+    private static final int MOVE_SHIFT = 32;
+    private static final int FLAG_SHIFT = 50;
+    private static final int DEPTH_SHIFT = 52;
+    private static final int GENERATION_SHIFT = 60;
+    private static final long MOVE_MASK = 0x3FFFF;
+    private static final int GENERATION_MASK = 0xF;
+
+    // Every entry is two longs (check and entry)
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private final int size;
+
+    // Zobrist key xor-ed with the entry, used to detect both other positions and entries written by two threads at once
+    private final long[] checks;
+    private final long[] entries;
+
+    // Generation of the current search (wraps around after 16 searches)
+    private int generation;
+
+    /**
+     * Constructor
+     * @param size Size of the TranspositionTable
+     */
+    public TranspositionTable(int size){
+        this.size = size;
+
+        this.checks = new long[size];
+        this.entries = new long[size];
+    }
+
+    /**
+     * @param megabytes Memory the table can use.
+     * @return Number of entries that fit in the given memory.
+     */
+    public static int entriesForMegabytes(int megabytes){
+        return (int) Math.max(1, (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+    }
+
+    /**
+     * Stores an evaluation into the table
+     * @param key Zobrist key of the position
+     * @param depth Depth of the search
+     * @param flag Indicator of bounds (see above for more details)
+     * @param eval Evaluation of position
+     * @param move Packed move made before storing
+     * @param plyFromRoot Number of moves from the root to the position
+     */
+    public void storeEvaluation(long key, int depth, int flag, int eval, int move, int plyFromRoot){
+        int index = getIndex(key);
+        long oldEntry = entries[index];
+
+        // Keep deeper entries of other positions from the current search
+        if ((checks[index] ^ oldEntry) != key && unpackGeneration(oldEntry) == generation && unpackDepth(oldEntry) > depth) return;
+
+        long entry = (scoreToTable(eval, plyFromRoot) & 0xFFFFFFFFL) | ((long) move << MOVE_SHIFT) | ((long) flag << FLAG_SHIFT)
+                | ((long) depth << DEPTH_SHIFT) | ((long) generation << GENERATION_SHIFT);
+
+        checks[index] = key ^ entry;
+        entries[index] = entry;
+    }
+
+    /**
+     * Looks up a value from the transposition table
+     * @param key Zobrist key of the position
+     * @param depth Current search depth
+     * @param alpha Current alpha in search
+     * @param beta Current beta in search
+     * @param plyFromRoot Number of moves from the root to the position
+     * @return Eval of position or LOOKUP_FAILED
+     */
+    public int lookupEvaluation(long key, int depth, int alpha, int beta, int plyFromRoot){
+        long entry = probe(key);
+
+        // Ignore if the position was searched less deeply than the current search would
+        if (entry == 0 || unpackMove(entry) == MoveUtility.NULL_MOVE || unpackDepth(entry) < depth) return LOOKUP_FAILED;
+
+        int flag = (int) (entry >>> FLAG_SHIFT) & 3;
+        int bestEval = scoreFromTable(unpackEval(entry), plyFromRoot);
+
+        if (flag == EXACT)
+            return bestEval;
+        if (flag == UPPER && bestEval <= alpha)
+            return bestEval;
+        if (flag == LOWER && bestEval >= beta)
+            return bestEval;
+
+        return LOOKUP_FAILED;
+    }
+
+    /**
+     * Starts a new generation. Must be called before every search so that entries of older searches are replaced first.
+     */
+    public void newSearch(){
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Converts a mate score relative to the root into a mate score relative to the stored position.
+     * @param eval Evaluation of the position.
+     * @param plyFromRoot Number of moves from the root to the position.
+     * @return The evaluation to store.
+     */
+    private static int scoreToTable(int eval, int plyFromRoot){
+        if (!Search.isMateScore(eval)) return eval;
+        return eval > 0 ? eval + plyFromRoot : eval - plyFromRoot;
+    }
+
+    /**
+     * Converts a stored mate score back into a mate score relative to the root.
+     * @param eval Stored evaluation of the position.
+     * @param plyFromRoot Number of moves from the root to the position.
+     * @return The evaluation relative to the root.
+     */
+    private static int scoreFromTable(int eval, int plyFromRoot){
+        if (!Search.isMateScore(eval)) return eval;
+        return eval > 0 ? eval - plyFromRoot : eval + plyFromRoot;
+    }
+
+    /**
+     * Zobrist keys are stored in the transposition table
+     * by taking the modulo of the key and the number of
+     * elements in the table. This is to reduce the index and
+     * still provide a unique index for each position.
+     * @param key Zobrist key of the position
+     * @return The index of the position in the table
+     */
+    private int getIndex(long key){
+        return (int) (key % size);
+    }
+
+    /**
+     * Reads the entry of a position.
+     * The entry is read once so that another thread can't change it between the check and the use.
+     * @param key Zobrist key of the position
+     * @return The packed entry or 0 if the position isn't stored
+     */
+    private long probe(long key){
+        int index = getIndex(key);
+        long entry = entries[index];
+
+        return (checks[index] ^ entry) == key ? entry : 0;
+    }
+
+    /**
+     * @param key Zobrist key of the position
+     * @return The best move stored for the position or NULL_MOVE if there is none.
+     */
+    public int getMove(long key){
+        return unpackMove(probe(key));
+    }
+
+    private static int unpackMove(long entry){
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK);
+    }
+
+    private static int unpackEval(long entry){
+        return (int) entry;
+    }
+
+    private static int unpackDepth(long entry){
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    private static int unpackGeneration(long entry){
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.shynee.main.chess.AI;
+
+import com.shynee.main.chess.Bitboard;
+import com.shynee.main.chess.ChessBoard;
+
+import java.util.Random;
+
+/**
+ * Zobrist: Used to create a unique hash for a board position.
+ * The hash is generated once when a position is loaded and then updated
+ * incrementally by ChessBoard every time a move is made.
+ * The random numbers are generated once when the class is loaded, so boards on different threads can use them safely.
+ */
+public class Zobrist {
+
+    // An array of random numbers for every piece and every square
+    private static long[][] zobristKeys = new long[12][64];
+    // An array of random number that represents the castling rights of both sides
+    private static long[] castling = new long[4];
+    // The combined castling numbers of every castling rights bitmask
+    private static long[] castlingRights = new long[16];
+    // A random number that represents if its blacks turn to move
+    private static long isBlackTurn;
+    // An array of random numbers for the file of the en passant square
+    private static long[] enPassantFiles = new long[8];
+
+    static {
+        initializeKeys();
+    }
+
+    /**
+     * Fills each array with a non-negative random number.
+     * This approach allows us to get a unique number
+     * for every piece on every square. It also allows
+     * us to hash things like castling rights and turn
+     * to move.
+     */
+    private static void initializeKeys(){
+        // Use a seed to make sure zobrist keys are the same every time the program is run
+        long seed = 123456789L;
+        Random random = new Random(seed);
+        for (int i = 0; i < 12; i++){
+            for (int j = 0; j < 64; j++){
+                zobristKeys[i][j] = random.nextLong(0, Long.MAX_VALUE);
+            }
+        }
+
+        for (int i = 0; i < castling.length; i++){
+            castling[i] = random.nextLong(0, Long.MAX_VALUE);
+        }
+
+        // Each bit of the castling rights uses the number of the same index
+        for (int rights = 0; rights < castlingRights.length; rights++){
+            castlingRights[rights] = 0;
+            for (int i = 0; i < castling.length; i++){
+                if ((rights & (1 << i)) != 0) castlingRights[rights] ^= castling[i];
+            }
+        }
+
+        isBlackTurn = random.nextLong(0, Long.MAX_VALUE);
+
+        for (int i = 0; i < enPassantFiles.length; i++){
+            enPassantFiles[i] = random.nextLong(0, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Generates a unique zobrist hash for a given board position.
+     * This is done by xor-ing the random numbers for every piece
+     * at a square on the board.
+     * @param board ChessBoard class containing the board position we want to hash
+     * @return The zobrist key of the given board position
+     */
+    public static long generateKey(ChessBoard board){
+        Bitboard bitboard = board.getBitboard();
+        long key = 0;
+
+        // Black pieces are stored using their piece type + 6 (same as the piece boards)
+        for (int piece = 0; piece < 12; piece++){
+            long pieces = bitboard.getPieces(piece);
+            while (pieces != 0){
+                key ^= zobristKeys[piece][Long.numberOfTrailingZeros(pieces)];
+                pieces &= pieces - 1;
+            }
+        }
+
+        key ^= castlingRights[board.getCastlingRights()];
+        key ^= getEnPassantKey(board.getEnPassantSquare());
+
+        if (!board.colorToMove()) key ^= isBlackTurn;
+
+        return key;
+    }
+
+    /**
+     * @param piece Piece index (see Bitboard.pieceIndex()).
+     * @param square Position of the piece.
+     * @return Number to xor when the piece is added to or removed from the square.
+     */
+    public static long getPieceKey(int piece, int square){
+        return zobristKeys[piece][square];
+    }
+
+    /**
+     * @param rights Castling rights bitmask (see ChessBoard).
+     * @return Number to xor for the castling rights.
+     */
+    public static long getCastlingKey(int rights){
+        return castlingRights[rights];
+    }
+
+    public static long getBlackTurnKey(){
+        return isBlackTurn;
+    }
+
+    /**
+     * @param enPassantSquare Square a pawn can capture en passant on (or NO_SQUARE).
+     * @return Number to xor when the en passant square is set or cleared.
+     */
+    public static long getEnPassantKey(int enPassantSquare){
+        return enPassantSquare == ChessBoard.NO_SQUARE ? 0 : enPassantFiles[enPassantSquare & 7];
+    }
+}
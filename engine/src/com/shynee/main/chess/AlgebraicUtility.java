@@ -20,6 +20,18 @@ public class AlgebraicUtility {
         // Remove unnecessary symbols (e.g. +, -, #, x)
         notation = notation.replace("+", "").replace("-", "").replace("x", "").replace("#", "").replace("=", "");
 
+        // Promotions end with the type of the new piece (e.g. e8Q)
+        int promotionType = Piece.QUEEN;
+        if (notation.length() > 2 && Character.isDigit(notation.charAt(notation.length()-2))){
+            switch (notation.charAt(notation.length()-1)){
+                case 'Q' -> promotionType = Piece.QUEEN;
+                case 'B' -> promotionType = Piece.BISHOP;
+                case 'N' -> promotionType = Piece.KNIGHT;
+                case 'R' -> promotionType = Piece.ROOK;
+            }
+            if (!Character.isDigit(notation.charAt(notation.length()-1))) notation = notation.substring(0, notation.length()-1);
+        }
+
         // Loop through all possible moves
         List<Move> legalMoves = board.getMoveCalculator().getLegalMoves(board, color);
         for (Move move : legalMoves){
@@ -34,6 +46,8 @@ public class AlgebraicUtility {
                 continue;
             }
 
+            if (move.isPromotion && move.promotionType != promotionType) continue;
+
             char[] chars = notation.toCharArray();
             // Check for valid notation
             if (chars.length < 2 || Character.isDigit(chars[0])) return null;
@@ -70,7 +84,7 @@ public class AlgebraicUtility {
             }
 
             // Find corresponding legal move
-            if (BoardUtility.getArrayIndex(rank, file) == move.squarePos && board.getSquare(move.piecePos).getPiece().type == pieceType){
+            if (BoardUtility.getArrayIndex(rank, file) == move.squarePos && Bitboard.pieceType(board.getBitboard().getPiece(move.piecePos)) == pieceType){
                 int[] rf = BoardUtility.getRankAndFile(move.piecePos);
 
                 if (startFile == -1 && startRank == -1) return move;
@@ -102,7 +116,7 @@ public class AlgebraicUtility {
         char file = (char) ((rf[1]+97));
         // Find corresponding piece type (Knight = 'N')
         char piece = 'd';
-        switch(board.getSquare(move.piecePos).getPiece().type){
+        switch(Bitboard.pieceType(board.getBitboard().getPiece(move.piecePos))){
             case 0 -> piece = 'K';
             case 1 -> piece = 'Q';
             case 2 -> piece = 'B';
@@ -110,7 +124,7 @@ public class AlgebraicUtility {
             case 4 -> piece = 'R';
         }
 
-        boolean isTake = board.getSquare(move.squarePos).hasPiece();
+        boolean isTake = move.isEnPassant || board.getBitboard().getPiece(move.squarePos) != Bitboard.EMPTY;
         if (piece != 'd') notation += piece;
         else notation += isTake ? piece : "";
 
@@ -119,6 +133,15 @@ public class AlgebraicUtility {
         notation += file;
         notation += rf[0]+1;
 
+        if (move.isPromotion){
+            switch (move.promotionType){
+                case Piece.QUEEN -> notation += "=Q";
+                case Piece.BISHOP -> notation += "=B";
+                case Piece.KNIGHT -> notation += "=N";
+                case Piece.ROOK -> notation += "=R";
+            }
+        }
+
         return notation;
     }
 }
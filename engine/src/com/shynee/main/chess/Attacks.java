@@ -0,0 +1,302 @@
+package com.shynee.main.chess;
+
+/**
+ * Attacks -- Precomputed attack tables for pieces on every square of the board.
+ * Non-sliding pieces (knight, king, pawn) have one bitboard of attacked squares per square.
+ * Sliding pieces (bishop, rook, queen) use magic bitboards:
+ * The pieces that can block a sliding piece are multiplied by a "magic" number and shifted,
+ * which maps every possible blocker configuration to an index in a precomputed attack table.
+ * This allows the attacks of a sliding piece to be found with a single table lookup.
+ * The magic numbers were found once by trying random numbers with few bits set until every configuration got a valid index.
+ * All tables are built once when the class is loaded.
+ */
+public class Attacks {
+
+    // Directions as {rank offset, file offset}
+    private final static int[][] rookDirections = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private final static int[][] bishopDirections = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private final static int[][] knightOffsets = {{2, -1}, {2, 1}, {1, -2}, {1, 2}, {-2, 1}, {-2, -1}, {-1, 2}, {-1, -2}};
+    private final static int[][] kingOffsets = {{1, -1}, {1, 0}, {1, 1}, {0, -1}, {0, 1}, {-1, -1}, {-1, 0}, {-1, 1}};
+    // Pawns that move up the board attack up, pawns that move down the board attack down
+    private final static int[][] upPawnOffsets = {{1, -1}, {1, 1}};
+    private final static int[][] downPawnOffsets = {{-1, -1}, {-1, 1}};
+
+    private final static long[] knightTable = new long[64];
+    private final static long[] kingTable = new long[64];
+    // Index 0 = white pawns, index 1 = black pawns
+    private final static long[][] pawnTable = new long[2][64];
+
+    private final static long[] rookMasks = new long[64];
+    private final static long[] rookMagics = {
+            0x1D80014000A09080L, 0x4200104420830200L, 0x0080100020008008L, 0x1900042101581000L,
+            0x0280228008000400L, 0x0180050200800400L, 0x0880020011002080L, 0x0A0001020040882CL,
+            0x2001800220400080L, 0x0941802000400080L, 0x0001001100200040L, 0x000100200D001000L,
+            0x9120800400080080L, 0x0092008810440200L, 0x0021004401000200L, 0x10030000A8420100L,
+            0x0000808000400020L, 0x8000484000201000L, 0x4001010010402000L, 0x0804848008001000L,
+            0x00C0808004000801L, 0x0224008002000480L, 0x0100808001000200L, 0x00000A0001209044L,
+            0x0000400080008020L, 0xE201002100400080L, 0x0060080040100040L, 0x4848008180481000L,
+            0x0830040080800800L, 0x0012006200444810L, 0x0001000900241200L, 0x0109008200004104L,
+            0x1000400090800021L, 0x4000400081002100L, 0x1502002482001040L, 0x0811100084800801L,
+            0x5004000800800480L, 0x0040020080800400L, 0x0C02000806000405L, 0xA4000110A2000044L,
+            0x0106802040148000L, 0xA00041201000C000L, 0x0020040200101000L, 0x0010040008004040L,
+            0x000C000408008080L, 0x0090041020080140L, 0x0442108102040008L, 0xD804010080420004L,
+            0x1040204000800080L, 0x0002002100804200L, 0x0000401020010100L, 0x0A40090010002100L,
+            0x0400080080040080L, 0x4600020080040080L, 0x800229081A104400L, 0x0020040080410200L,
+            0x0009002010408001L, 0x1001E100C0019087L, 0x402448B120030041L, 0x0101090020700125L,
+            0x2605003028004443L, 0x000200B8031C1002L, 0x0204411000820804L, 0x401000408900240AL
+    };
+    private final static int[] rookShifts = new int[64];
+    private final static int[] rookOffsets = new int[64];
+    private final static long[] rookTable;
+
+    private final static long[] bishopMasks = new long[64];
+    private final static long[] bishopMagics = {
+            0x0040020093120188L, 0x1010040800802800L, 0x0810040740C95200L, 0x0008084104006800L,
+            0x1001104000A00401L, 0x08C2021004108400L, 0x0004012402208214L, 0x401044021110020AL,
+            0x0000420208020880L, 0x0880040858004281L, 0x2000108100410244L, 0x100204040C802040L,
+            0x1920840420404010L, 0x0000108220200008L, 0x1020004404844032L, 0x3012028401080380L,
+            0x81600184A00C8302L, 0x0008003001286080L, 0x800A00500400444CL, 0x8004002802926090L,
+            0x2058102901401009L, 0x0000200E10100808L, 0x0004020D009A50A5L, 0x0242021051008800L,
+            0x9090081030A05110L, 0x0002080010010808L, 0x1984020001220400L, 0x0008080020202020L,
+            0x0009010060104008L, 0x802801094A008204L, 0x2888010402209A00L, 0x0048410008940102L,
+            0x1544E00460200402L, 0x38221011100C5900L, 0x8012008202100020L, 0x000A200800410104L,
+            0x0001100400008021L, 0x0008840100009001L, 0x40100608809C6403L, 0x0011440100008044L,
+            0x300104114008440CL, 0x0040410420001108L, 0x0900402410010101L, 0x40A2004208041080L,
+            0x4200040082001020L, 0x154024208C080080L, 0x08600D010502022DL, 0x0018081060400080L,
+            0x10624208204A0208L, 0x0410240202100840L, 0x0200A08404C82162L, 0x0000181884040080L,
+            0x1020401002022000L, 0x051E2084101224E2L, 0x0C04045004010821L, 0xA210904088948000L,
+            0x00A0140404028802L, 0x000100804402A000L, 0x8049000202011100L, 0x0802220140840401L,
+            0x19104C0912020200L, 0x0038104050022080L, 0x0028228409280908L, 0x8061200092044042L
+    };
+    private final static int[] bishopShifts = new int[64];
+    private final static int[] bishopOffsets = new int[64];
+    private final static long[] bishopTable;
+
+    // Squares strictly between two squares on the same rank, file or diagonal
+    private final static long[][] betweenTable = new long[64][64];
+    // The full rank, file or diagonal that goes through two squares
+    private final static long[][] lineTable = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++){
+            knightTable[square] = leaperAttacks(square, knightOffsets);
+            kingTable[square] = leaperAttacks(square, kingOffsets);
+            pawnTable[0][square] = leaperAttacks(square, upPawnOffsets);
+            pawnTable[1][square] = leaperAttacks(square, downPawnOffsets);
+        }
+
+        rookTable = initMagics(rookDirections, rookMasks, rookMagics, rookShifts, rookOffsets);
+        bishopTable = initMagics(bishopDirections, bishopMasks, bishopMagics, bishopShifts, bishopOffsets);
+
+        for (int a = 0; a < 64; a++){
+            for (int b = 0; b < 64; b++){
+                if (a == b) continue;
+
+                long bitA = 1L << a;
+                long bitB = 1L << b;
+
+                if ((rookAttacks(a, 0L) & bitB) != 0){
+                    betweenTable[a][b] = rookAttacks(a, bitB) & rookAttacks(b, bitA);
+                    lineTable[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | bitA | bitB;
+                } else if ((bishopAttacks(a, 0L) & bitB) != 0){
+                    betweenTable[a][b] = bishopAttacks(a, bitB) & bishopAttacks(b, bitA);
+                    lineTable[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | bitA | bitB;
+                }
+            }
+        }
+    }
+
+    public static long knightAttacks(int square){
+        return knightTable[square];
+    }
+
+    public static long kingAttacks(int square){
+        return kingTable[square];
+    }
+
+    /**
+     * Finds the squares attacked by a pawn.
+     * White pawns move up the board (towards rank 8) and black pawns move down the board.
+     * @param color Color of the pawn.
+     * @param square Position of the pawn.
+     * @return Bitboard of the squares attacked by the pawn.
+     */
+    public static long pawnAttacks(boolean color, int square){
+        return pawnTable[color ? 0 : 1][square];
+    }
+
+    public static long rookAttacks(int square, long occupied){
+        return rookTable[rookOffsets[square] + (int) (((occupied & rookMasks[square]) * rookMagics[square]) >>> rookShifts[square])];
+    }
+
+    public static long bishopAttacks(int square, long occupied){
+        return bishopTable[bishopOffsets[square] + (int) (((occupied & bishopMasks[square]) * bishopMagics[square]) >>> bishopShifts[square])];
+    }
+
+    public static long queenAttacks(int square, long occupied){
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * @param a Position of the first square.
+     * @param b Position of the second square.
+     * @return Bitboard of the squares between a and b (not including a and b) or 0 if they don't share a line.
+     */
+    public static long between(int a, int b){
+        return betweenTable[a][b];
+    }
+
+    /**
+     * @param a Position of the first square.
+     * @param b Position of the second square.
+     * @return Bitboard of the whole rank, file or diagonal through a and b or 0 if they don't share a line.
+     */
+    public static long line(int a, int b){
+        return lineTable[a][b];
+    }
+
+    /**
+     * Finds the attacks of a sliding piece of a given type.
+     * @param type Type of the piece (queen, bishop or rook).
+     * @param square Position of the piece.
+     * @param occupied Bitboard of all pieces on the board.
+     * @return Bitboard of all squares attacked by the piece (including the first blocker in every direction).
+     */
+    public static long slidingAttacks(int type, int square, long occupied){
+        switch (type){
+            case Piece.QUEEN -> {
+                return queenAttacks(square, occupied);
+            }
+            case Piece.BISHOP -> {
+                return bishopAttacks(square, occupied);
+            }
+            case Piece.ROOK -> {
+                return rookAttacks(square, occupied);
+            }
+            default -> throw new RuntimeException("Not a sliding piece type");
+        }
+    }
+
+    /**
+     * Fills the attack table for every blocker configuration of every square using its magic number.
+     * @param directions Directions the piece can slide in.
+     * @param masks Array to fill with the relevant blocker mask of every square.
+     * @param magics Magic number of every square.
+     * @param shifts Array to fill with the shift of every square.
+     * @param offsets Array to fill with the start of every square's entries in the attack table.
+     * @return The attack table shared by every square.
+     */
+    private static long[] initMagics(int[][] directions, long[] masks, long[] magics, int[] shifts, int[] offsets){
+        int tableSize = 0;
+        for (int square = 0; square < 64; square++){
+            masks[square] = blockerMask(square, directions);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[square]);
+        }
+
+        long[] table = new long[tableSize];
+        // Used to tell which entries were already filled
+        boolean[] filled = new boolean[tableSize];
+
+        for (int square = 0; square < 64; square++){
+            long mask = masks[square];
+            int numConfigurations = 1 << Long.bitCount(mask);
+
+            // Enumerate every subset of the mask (carry-rippler)
+            long subset = 0;
+            for (int i = 0; i < numConfigurations; i++){
+                int tableIndex = offsets[square] + (int) ((subset * magics[square]) >>> shifts[square]);
+                long attacks = slowAttacks(square, subset, directions);
+
+                // Two configurations with different attacks can't share an index
+                if (filled[tableIndex] && table[tableIndex] != attacks) throw new RuntimeException("Invalid magic number for square " + square);
+
+                filled[tableIndex] = true;
+                table[tableIndex] = attacks;
+                subset = (subset - mask) & mask;
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Calculates the attacks of a non-sliding piece.
+     * Only used to fill the attack tables.
+     * @param square Position of the piece.
+     * @param offsets Every {rank, file} offset the piece can move by.
+     * @return Bitboard of all squares attacked by the piece.
+     */
+    private static long leaperAttacks(int square, int[][] offsets){
+        long attacks = 0;
+
+        for (int[] offset : offsets){
+            int rank = square / 8 + offset[0];
+            int file = square % 8 + offset[1];
+
+            if (isOnBoard(rank, file)) attacks |= 1L << BoardUtility.getArrayIndex(rank, file);
+        }
+
+        return attacks;
+    }
+
+    /**
+     * Finds all squares that can block a sliding piece.
+     * The edges of the board are ignored because a piece on the edge never blocks another square.
+     * @param square Position of the sliding piece.
+     * @param directions Directions the piece can slide in.
+     * @return Bitboard of all squares that can block the sliding piece.
+     */
+    private static long blockerMask(int square, int[][] directions){
+        long mask = 0;
+
+        for (int[] direction : directions){
+            int rank = square / 8 + direction[0];
+            int file = square % 8 + direction[1];
+
+            // Only add squares that have another square after them
+            while (isOnBoard(rank + direction[0], file + direction[1])){
+                mask |= 1L << BoardUtility.getArrayIndex(rank, file);
+                rank += direction[0];
+                file += direction[1];
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Calculates the attacks of a sliding piece by walking every direction one square at a time.
+     * Only used to fill the attack tables.
+     * @param square Position of the sliding piece.
+     * @param occupied Bitboard of all pieces on the board.
+     * @param directions Directions the piece can slide in.
+     * @return Bitboard of all squares attacked by the piece.
+     */
+    private static long slowAttacks(int square, long occupied, int[][] directions){
+        long attacks = 0;
+
+        for (int[] direction : directions){
+            int rank = square / 8 + direction[0];
+            int file = square % 8 + direction[1];
+
+            while (isOnBoard(rank, file)){
+                long bit = 1L << BoardUtility.getArrayIndex(rank, file);
+                attacks |= bit;
+
+                // Stop once a piece is reached
+                if ((occupied & bit) != 0) break;
+
+                rank += direction[0];
+                file += direction[1];
+            }
+        }
+
+        return attacks;
+    }
+
+    private static boolean isOnBoard(int rank, int file){
+        return rank >= 0 && rank < 8 && file >= 0 && file < 8;
+    }
+}
@@ -0,0 +1,212 @@
+package com.shynee.main.chess;
+
+import com.shynee.main.chess.AI.Evaluation;
+import com.shynee.main.chess.AI.PieceSquareTables;
+
+/**
+ * Bitboard -- Bitboard representation of the pieces on the chess board.
+ * Every piece type/color has its own 64-bit board where each bit represents one square (bit 0 = square 0).
+ * Pieces are indexed the same way as zobrist keys and sprites: white pieces use their type and black pieces use their type + 6.
+ * Also keeps occupancy boards for both colors and the whole board, as well as a piece index for every square.
+ * Piece counts, the material and the piece-square scores of both colors are updated with every change
+ * so the evaluation never has to scan the board.
+ */
+public class Bitboard {
+
+    public final static int EMPTY = -1;
+
+    // Material value of every piece index
+    private final static int[] pieceValues = new int[12];
+    static {
+        for (int piece = 0; piece < 12; piece++) pieceValues[piece] = Evaluation.getPieceValue(pieceType(piece));
+    }
+
+    // One board for every piece type of every color
+    private final long[] pieceBoards;
+    // Index 0 = white pieces, index 1 = black pieces
+    private final long[] colorBoards;
+    private long occupied;
+
+    // Piece index of every square (EMPTY if there is no piece)
+    private final int[] squarePieces;
+
+    // Number of pieces of every piece type/color
+    private final int[] pieceCounts;
+
+    // Index 0 = white material, index 1 = black material
+    private final int[] material;
+    // Sum of the piece-square values of every piece of a color (see PieceSquareTables)
+    private final int[] middlegameScores;
+    private final int[] endgameScores;
+
+    public Bitboard(){
+        this.pieceBoards = new long[12];
+        this.colorBoards = new long[2];
+        this.squarePieces = new int[64];
+        this.pieceCounts = new int[12];
+        this.material = new int[2];
+        this.middlegameScores = new int[2];
+        this.endgameScores = new int[2];
+        clear();
+    }
+
+    /**
+     * Rebuilds all boards from the piece on every square.
+     * @param squarePieces Piece index of every square (EMPTY if there is no piece).
+     */
+    public void loadPieces(int[] squarePieces){
+        clear();
+
+        for (int square = 0; square < 64; square++){
+            if (squarePieces[square] != EMPTY) addPiece(square, squarePieces[square]);
+        }
+    }
+
+    public void clear(){
+        for (int i = 0; i < 12; i++) pieceBoards[i] = 0;
+        colorBoards[0] = 0;
+        colorBoards[1] = 0;
+        occupied = 0;
+
+        for (int i = 0; i < 12; i++) pieceCounts[i] = 0;
+        for (int i = 0; i < 2; i++){
+            material[i] = 0;
+            middlegameScores[i] = 0;
+            endgameScores[i] = 0;
+        }
+
+        for (int i = 0; i < 64; i++) squarePieces[i] = EMPTY;
+    }
+
+    /**
+     * Places a piece on an empty square.
+     * @param square Position of the square.
+     * @param piece Piece index (see pieceIndex()).
+     */
+    public void addPiece(int square, int piece){
+        long bit = 1L << square;
+
+        pieceBoards[piece] |= bit;
+        colorBoards[piece < 6 ? 0 : 1] |= bit;
+        occupied |= bit;
+
+        squarePieces[square] = piece;
+
+        pieceCounts[piece]++;
+
+        int color = piece < 6 ? 0 : 1;
+        material[color] += pieceValues[piece];
+        middlegameScores[color] += PieceSquareTables.middlegame(piece, square);
+        endgameScores[color] += PieceSquareTables.endgame(piece, square);
+    }
+
+    /**
+     * Removes the piece on a square.
+     * @param square Position of the square.
+     * @return Piece index of the removed piece or EMPTY if there was no piece.
+     */
+    public int removePiece(int square){
+        int piece = squarePieces[square];
+        if (piece == EMPTY) return EMPTY;
+
+        long bit = ~(1L << square);
+
+        pieceBoards[piece] &= bit;
+        colorBoards[piece < 6 ? 0 : 1] &= bit;
+        occupied &= bit;
+
+        squarePieces[square] = EMPTY;
+
+        pieceCounts[piece]--;
+
+        int color = piece < 6 ? 0 : 1;
+        material[color] -= pieceValues[piece];
+        middlegameScores[color] -= PieceSquareTables.middlegame(piece, square);
+        endgameScores[color] -= PieceSquareTables.endgame(piece, square);
+
+        return piece;
+    }
+
+    /**
+     * Moves a piece to an empty square.
+     * @param from Current position of the piece.
+     * @param to New position of the piece.
+     */
+    public void movePiece(int from, int to){
+        int piece = squarePieces[from];
+        long fromTo = (1L << from) | (1L << to);
+
+        pieceBoards[piece] ^= fromTo;
+        colorBoards[piece < 6 ? 0 : 1] ^= fromTo;
+        occupied ^= fromTo;
+
+        squarePieces[from] = EMPTY;
+        squarePieces[to] = piece;
+
+        int color = piece < 6 ? 0 : 1;
+        middlegameScores[color] += PieceSquareTables.middlegame(piece, to) - PieceSquareTables.middlegame(piece, from);
+        endgameScores[color] += PieceSquareTables.endgame(piece, to) - PieceSquareTables.endgame(piece, from);
+    }
+
+    public int getPiece(int square){
+        return squarePieces[square];
+    }
+
+    public long getPieces(int type, boolean color){
+        return pieceBoards[pieceIndex(type, color)];
+    }
+
+    public long getPieces(int piece){
+        return pieceBoards[piece];
+    }
+
+    public long getColorPieces(boolean color){
+        return colorBoards[color ? 0 : 1];
+    }
+
+    public long getOccupied(){
+        return occupied;
+    }
+
+    public int getPieceCount(int piece){
+        return pieceCounts[piece];
+    }
+
+    public int getPieceCount(int type, boolean color){
+        return pieceCounts[pieceIndex(type, color)];
+    }
+
+    /**
+     * @param color Color of the pieces.
+     * @return Sum of the material values of every piece of the color (see Evaluation).
+     */
+    public int getMaterial(boolean color){
+        return material[color ? 0 : 1];
+    }
+
+    public int getMiddlegameScore(boolean color){
+        return middlegameScores[color ? 0 : 1];
+    }
+
+    public int getEndgameScore(boolean color){
+        return endgameScores[color ? 0 : 1];
+    }
+
+    /**
+     * Black pieces are stored using their piece type + 6
+     * @param type Type of the piece.
+     * @param color Color of the piece.
+     * @return Index of the piece in the piece boards.
+     */
+    public static int pieceIndex(int type, boolean color){
+        return color ? type : type + 6;
+    }
+
+    public static int pieceType(int piece){
+        return piece < 6 ? piece : piece - 6;
+    }
+
+    public static boolean pieceColor(int piece){
+        return piece < 6;
+    }
+}
@@ -1,66 +1,10 @@
 package com.shynee.main.chess;
 
-import java.util.List;
-
 /**
  * BoardUtility: Standard utility class with helpful functions for manipulation the chess board
  */
 public class BoardUtility {
 
-    /**
-     * Checks if a list of moves contains a square as its final position.
-     * This means that the square's position is equal to the final position of one of the moves.
-     * @param moves List of moves to be queried
-     * @param target Square to be checked
-     * @return True if the list contains the square; false if not
-     */
-    public static boolean containsSquare(List<Move> moves, Square target){
-        for (Move m : moves){
-            if (m.squarePos == target.getArrayPosition()) return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Checks if a list of moves only contains one non-king piece.
-     * @param board Square[] representation of the chess board
-     * @param moves List of moves to be checked
-     * @param color Color of the pieces to be checked
-     * @return The piece if there is only one or null if otherwise
-     */
-    public static Move getPieceIfOne(Square[] board, List<Move> moves, boolean color){
-        int num = 0;
-        Move pieceMove = null;
-
-        for (Move m : moves){
-            Square s = board[m.squarePos];
-            if (s.hasPiece() && s.getPiece().type != Piece.KING && s.getPiece().color == color) {
-                num++;
-                pieceMove = new Move(m.piecePos, m.squarePos, -m.directionOffset);
-            }
-        }
-
-        if (num == 1) return pieceMove;
-        else return null;
-    }
-
-    /**
-     * Counts the number of non-king pieces in a list of moves
-     * @param board Square[] representation of the chess board
-     * @param moves List of moves to be checked
-     * @return The number of non-king pieces in the list of moves
-     */
-    public static int numPieces(Square[] board, List<Move> moves){
-        int num = 0;
-        for (Move m : moves){
-            Square s = board[m.squarePos];
-            if (s.hasPiece() && s.getPiece().type != Piece.KING) num++;
-        }
-
-        return num;
-    }
-
     /**
      * Converts the rank and file of a board position to its corresponding index in the square array
      * @param rank Rank of board position
@@ -92,7 +36,7 @@ public class BoardUtility {
      * @param end Position of the ending square
      * @return Reduced direction or 0 if no direction offset is found
      */
-    private static int getDirectionOffset(int start, int end){
+    public static int getDirectionOffset(int start, int end){
         // Separate positions into rank and file
         int[] rfStart = BoardUtility.getRankAndFile(start);
         int[] rfEnd = BoardUtility.getRankAndFile(end);
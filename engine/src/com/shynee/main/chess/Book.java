@@ -1,10 +1,10 @@
 package com.shynee.main.chess;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
 import com.google.gson.Gson;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -13,6 +13,7 @@ import java.util.*;
  * On the first program execution, it converts the games into BookElements and stores the json values in book.txt.
  * Every other time, it reads book.txt and stores the values in a list of queues.
  * When a move is made, it removes every queue whose hash of the first move is not equal to the current board position.
+ * The files are passed in by the caller so that the book doesn't depend on how the application loads its assets.
  */
 public class Book {
 
@@ -36,14 +37,18 @@ public class Book {
     private final ChessBoard board;
     private final Gson gson;
 
-    public Book(ChessBoard board){
+    /**
+     * @param board ChessBoard used to play through the games when the book is created.
+     * @param bookFile Path of book.txt (created from the games if it doesn't exist).
+     * @param gamesFile Path of games.txt.
+     */
+    public Book(ChessBoard board, Path bookFile, Path gamesFile){
         this.board = board;
         this.gson = new Gson();
 
-        FileHandle file = Gdx.files.internal("games/book.txt");
-        if (file.exists()) loadBook(file);
+        if (Files.exists(bookFile)) loadBook(bookFile);
         // Create book is only called if book.txt gets deleted
-        else createBook(file);
+        else createBook(bookFile, gamesFile);
     }
 
     /**
@@ -51,10 +56,11 @@ public class Book {
      * Each BookElement is a representation of the board after the algebraic notation has been made.
      * The final json is stored in a new file named book.txt.
      * @param file The file used to store the final json.
+     * @param gamesFile The file containing the games.
      */
-    private void createBook(FileHandle file){
+    private void createBook(Path file, Path gamesFile){
         // Split games.txt into each individual game
-        String[] book = Gdx.files.internal("games/games.txt").readString().split("\n");
+        String[] book = readString(gamesFile).split("\n");
         StringBuilder zobristString = new StringBuilder();
 
         for (String line : book){
@@ -94,10 +100,7 @@ public class Book {
 
         // Create new file and store json
         try {
-            file.file().createNewFile();
-            FileWriter writer = new FileWriter(file.file());
-            writer.write(zobristString.toString());
-            writer.close();
+            Files.writeString(file, zobristString.toString());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -107,8 +110,8 @@ public class Book {
      * Reads from previously created book.txt and stores all BookElements
      * @param file Reference to book.txt file
      */
-    private void loadBook(FileHandle file){
-        String json = file.readString();
+    private void loadBook(Path file){
+        String json = readString(file);
         BookElement[][] bookElements = gson.fromJson(json, BookElement[][].class);
 
         for (BookElement[] bookQueue : bookElements){
@@ -118,6 +121,14 @@ public class Book {
         }
     }
 
+    private String readString(Path file){
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Updates possible book moves after a move has been made.
      * Updated after both white and black moves.
@@ -0,0 +1,522 @@
+package com.shynee.main.chess;
+
+import com.shynee.main.chess.AI.Zobrist;
+
+import java.util.*;
+
+/**
+ * ChessBoard -- Responsible for all things relating to the virtual chess board.
+ * This includes moving/unmoving pieces, keeping track of check/draw, etc.
+ * The position is kept in a Bitboard that is updated with every move.
+ * Squares are always numbered from white's side (a1 = 0, h8 = 63); it is up to the renderer to flip the board.
+ */
+public class ChessBoard {
+
+    // Castling rights bitmask values
+    public final static int WHITE_CASTLE_KING = 1;
+    public final static int WHITE_CASTLE_QUEEN = 2;
+    public final static int BLACK_CASTLE_KING = 4;
+    public final static int BLACK_CASTLE_QUEEN = 8;
+
+    // Value of the en passant square when no pawn can be captured en passant
+    public final static int NO_SQUARE = -1;
+
+    // Castling rights that remain after a piece moves from or to each square (a king or rook square removes rights)
+    private final static int[] castlingMasks = new int[64];
+    static {
+        for (int i = 0; i < 64; i++) castlingMasks[i] = 15;
+        castlingMasks[0] = ~WHITE_CASTLE_QUEEN & 15;
+        castlingMasks[7] = ~WHITE_CASTLE_KING & 15;
+        castlingMasks[4] = ~(WHITE_CASTLE_KING | WHITE_CASTLE_QUEEN) & 15;
+        castlingMasks[56] = ~BLACK_CASTLE_QUEEN & 15;
+        castlingMasks[63] = ~BLACK_CASTLE_KING & 15;
+        castlingMasks[60] = ~(BLACK_CASTLE_KING | BLACK_CASTLE_QUEEN) & 15;
+    }
+
+    // Number of plies without a capture or pawn move after which the game is drawn
+    public final static int DRAW_PLY_COUNT = 100;
+
+    private final Bitboard bitboard;
+
+    // One record for every move made, reused as moves are made/unmade
+    private UndoRecord[] undoRecords;
+    private int numUndoRecords;
+    // Zobrist key of the position before every move made (game and search moves), used to detect repetitions
+    private long[] keyHistory;
+
+    private final MoveCalculator moveCalculator;
+    // Reused to check for checkmate before scoring a position as a move counter draw
+    private final MoveList drawCheckMoves;
+
+    public long zobristKey;
+    public boolean gameRunning;
+
+    public int numPly = 0;
+    public int numPlyForDraw = 0;
+    // Plies since the last null move (or since the position was loaded), positions before a null move can't be repeated by real moves
+    private int pliesSinceNullMove = 0;
+
+    public boolean isWhiteCheck;
+    public boolean isBlackCheck;
+    public boolean isDoubleCheck;
+
+    private boolean colorToMove;
+    private int castlingRights;
+    // Square behind a pawn that just moved two squares
+    private int enPassantSquare;
+
+    public ChessBoard(String FEN){
+        this.bitboard = new Bitboard();
+        this.colorToMove = true;
+
+        this.isWhiteCheck = false;
+        this.isBlackCheck = false;
+        this.isDoubleCheck = false;
+
+        this.undoRecords = new UndoRecord[1024];
+        for (int i = 0; i < undoRecords.length; i++) undoRecords[i] = new UndoRecord();
+        this.numUndoRecords = 0;
+        this.keyHistory = new long[undoRecords.length];
+
+        this.moveCalculator = new MoveCalculator(this);
+        this.drawCheckMoves = new MoveList();
+
+        // Create board based on FEN
+        loadPosition(FEN);
+
+        this.gameRunning = true;
+    }
+
+    public void makeMove(Move move, boolean inSearch) {
+        makeMove(move.toPacked(), inSearch);
+    }
+
+    /**
+     * Moves a piece in the chess game.
+     * Also keeps track of mate/draw.
+     *
+     * @param move Packed move to make on the board (see MoveUtility).
+     * @param inSearch True if the method is called while searching for the best move.
+     */
+    public void makeMove(int move, boolean inSearch) {
+        int from = MoveUtility.getFrom(move);
+        int to = MoveUtility.getTo(move);
+        int capturePos = MoveUtility.isEnPassant(move) ? getEnPassantCapturePos(to) : to;
+
+        // Save state that can't be recomputed when the move is unmade
+        UndoRecord undo = pushUndoRecord();
+        keyHistory[numUndoRecords-1] = zobristKey;
+        undo.zobristKey = zobristKey;
+        undo.castlingRights = castlingRights;
+        undo.enPassantSquare = enPassantSquare;
+        undo.halfmoveClock = numPlyForDraw;
+        undo.pliesSinceNullMove = pliesSinceNullMove;
+        undo.capturedPiece = bitboard.getPiece(capturePos);
+
+        int movedPiece = bitboard.getPiece(from);
+
+        // Increment move counters (capturing a piece or moving a pawn can't be undone and resets the draw counter)
+        numPly++;
+        numPlyForDraw++;
+        pliesSinceNullMove++;
+        if (Bitboard.pieceType(movedPiece) == Piece.PAWN || undo.capturedPiece != Bitboard.EMPTY) numPlyForDraw = 0;
+
+        updateZobristKey(move, from, to, capturePos);
+
+        if (MoveUtility.isCastle(move)) {
+            handleCastle(from, to > from ? 1 : -1);
+        } else if (MoveUtility.isPromotion(move)) {
+            bitboard.removePiece(to);
+            bitboard.removePiece(from);
+            bitboard.addPiece(to, Bitboard.pieceIndex(MoveUtility.getPromotionType(move), Bitboard.pieceColor(movedPiece)));
+        } else {
+            bitboard.removePiece(capturePos);
+            bitboard.movePiece(from, to);
+        }
+
+        updateCheck();
+
+        if (!inSearch && (moveCalculator.getLegalMoves(this, true).isEmpty() || moveCalculator.getLegalMoves(this, false).isEmpty())){
+            if (isWhiteCheck || isBlackCheck) {
+                System.out.println("checkmate");
+            } else {
+                System.out.println("draw by stalemate");
+            }
+            gameRunning = false;
+        }
+
+        // Checkmate on the last move before the move counter runs out still wins
+        if (!inSearch && gameRunning && numPlyForDraw >= DRAW_PLY_COUNT){
+            System.out.println("draw by move counter");
+            gameRunning = false;
+        }
+
+        if (!inSearch && countRepetitions() >= 2){
+            System.out.println("Draw by repetition");
+            gameRunning = false;
+        }
+
+        if (!inSearch && isInsufficientMaterial()){
+            System.out.println("draw by insufficient material");
+            gameRunning = false;
+        }
+
+        this.colorToMove = !colorToMove;
+    }
+
+    public void unmakeMove(Move move, boolean inSearch){
+        unmakeMove(move.toPacked(), inSearch);
+    }
+
+    /**
+     * Unmakes a move on the board.
+     * This includes unmoving pieces, decrementing counters, replace takes, etc.
+     *
+     * @param move Packed move to unmake on the board (see MoveUtility).
+     * @param inSearch True if the method is called while searching for the best move.
+     */
+    public void unmakeMove(int move, boolean inSearch){
+        int from = MoveUtility.getFrom(move);
+        int to = MoveUtility.getTo(move);
+
+        UndoRecord undo = undoRecords[--numUndoRecords];
+        numPly--;
+
+        if (MoveUtility.isCastle(move)){
+            boolean kingSide = to > from;
+
+            bitboard.movePiece(kingSide ? from+1 : from-1, kingSide ? from+3 : from-4);
+            bitboard.movePiece(to, from);
+        } else if (MoveUtility.isPromotion(move)){
+            int promotedPiece = bitboard.removePiece(to);
+            bitboard.addPiece(from, Bitboard.pieceIndex(Piece.PAWN, Bitboard.pieceColor(promotedPiece)));
+        } else {
+            bitboard.movePiece(to, from);
+        }
+
+        // Replace the captured piece
+        if (undo.capturedPiece != Bitboard.EMPTY) bitboard.addPiece(MoveUtility.isEnPassant(move) ? getEnPassantCapturePos(to) : to, undo.capturedPiece);
+
+        // Recompute check
+        updateCheck();
+
+        // Restore the state from before the move
+        this.zobristKey = undo.zobristKey;
+        this.castlingRights = undo.castlingRights;
+        this.enPassantSquare = undo.enPassantSquare;
+        this.numPlyForDraw = undo.halfmoveClock;
+        this.pliesSinceNullMove = undo.pliesSinceNullMove;
+
+        this.colorToMove = !colorToMove;
+    }
+
+    /**
+     * Passes the turn to the other color without moving a piece (used by null move pruning in the search).
+     * Must not be used while the color to move is in check.
+     */
+    public void makeNullMove(){
+        UndoRecord undo = pushUndoRecord();
+        keyHistory[numUndoRecords-1] = zobristKey;
+        undo.zobristKey = zobristKey;
+        undo.castlingRights = castlingRights;
+        undo.enPassantSquare = enPassantSquare;
+        undo.halfmoveClock = numPlyForDraw;
+        undo.pliesSinceNullMove = pliesSinceNullMove;
+        undo.capturedPiece = Bitboard.EMPTY;
+
+        // The halfmove clock is left alone so that the move counter draw is still seen below the null move
+        numPly++;
+        pliesSinceNullMove = 0;
+
+        // Passing the turn gives up the chance to capture en passant
+        zobristKey ^= Zobrist.getEnPassantKey(enPassantSquare) ^ Zobrist.getBlackTurnKey();
+        enPassantSquare = NO_SQUARE;
+
+        this.colorToMove = !colorToMove;
+    }
+
+    /**
+     * Unmakes a null move (see makeNullMove()).
+     */
+    public void unmakeNullMove(){
+        UndoRecord undo = undoRecords[--numUndoRecords];
+        numPly--;
+
+        this.zobristKey = undo.zobristKey;
+        this.enPassantSquare = undo.enPassantSquare;
+        this.numPlyForDraw = undo.halfmoveClock;
+        this.pliesSinceNullMove = undo.pliesSinceNullMove;
+
+        this.colorToMove = !colorToMove;
+    }
+
+    /**
+     * Updates the zobrist key, castling rights and en passant square for a move that is about to be made.
+     * Only the pieces that move, the captured piece, the castling rights, the en passant file and the turn are xor-ed,
+     * so the key never has to be regenerated from the whole board.
+     *
+     * @param move Packed move about to be made.
+     * @param from Starting square of the move.
+     * @param to Final square of the move.
+     * @param capturePos Square of the captured piece (only different from the final square for en passant).
+     */
+    private void updateZobristKey(int move, int from, int to, int capturePos){
+        int piece = bitboard.getPiece(from);
+        int capturedPiece = bitboard.getPiece(capturePos);
+
+        // Move the piece out of its starting square
+        zobristKey ^= Zobrist.getPieceKey(piece, from);
+
+        if (MoveUtility.isCastle(move)){
+            boolean kingSide = to > from;
+            int rookFrom = kingSide ? from+3 : from-4;
+            int rookTo = kingSide ? from+1 : from-1;
+            int rook = bitboard.getPiece(rookFrom);
+
+            zobristKey ^= Zobrist.getPieceKey(piece, to);
+            zobristKey ^= Zobrist.getPieceKey(rook, rookFrom) ^ Zobrist.getPieceKey(rook, rookTo);
+        } else {
+            if (capturedPiece != Bitboard.EMPTY) zobristKey ^= Zobrist.getPieceKey(capturedPiece, capturePos);
+
+            int newPiece = MoveUtility.isPromotion(move) ? Bitboard.pieceIndex(MoveUtility.getPromotionType(move), Bitboard.pieceColor(piece)) : piece;
+            zobristKey ^= Zobrist.getPieceKey(newPiece, to);
+        }
+
+        // Moving from or to a king/rook square removes castling rights
+        int newCastlingRights = castlingRights & castlingMasks[from] & castlingMasks[to];
+        zobristKey ^= Zobrist.getCastlingKey(castlingRights) ^ Zobrist.getCastlingKey(newCastlingRights);
+        castlingRights = newCastlingRights;
+
+        // A pawn that moved two squares can be captured en passant on the next move only
+        int newEnPassantSquare = MoveUtility.isDoublePush(move) ? (from + to) / 2 : NO_SQUARE;
+        zobristKey ^= Zobrist.getEnPassantKey(enPassantSquare) ^ Zobrist.getEnPassantKey(newEnPassantSquare);
+        enPassantSquare = newEnPassantSquare;
+
+        zobristKey ^= Zobrist.getBlackTurnKey();
+    }
+
+    /**
+     * @param enPassantSquare Final square of an en passant capture.
+     * @return Square of the pawn captured en passant (the pawn is behind the final square).
+     */
+    private int getEnPassantCapturePos(int enPassantSquare){
+        return enPassantSquare < 32 ? enPassantSquare + 8 : enPassantSquare - 8;
+    }
+
+    /**
+     * Gets the next unused undo record, growing the array if a game gets very long.
+     * @return Undo record for the move being made.
+     */
+    private UndoRecord pushUndoRecord(){
+        if (numUndoRecords == undoRecords.length) growHistory(undoRecords.length*2);
+
+        return undoRecords[numUndoRecords++];
+    }
+
+    /**
+     * Grows the undo records and key history (both have one entry for every move made).
+     * @param length New number of entries.
+     */
+    private void growHistory(int length){
+        int oldLength = undoRecords.length;
+        undoRecords = Arrays.copyOf(undoRecords, length);
+        for (int i = oldLength; i < length; i++) undoRecords[i] = new UndoRecord();
+        keyHistory = Arrays.copyOf(keyHistory, length);
+    }
+
+    /**
+     * Handles castling by moving the correctly moving the king/rook.
+     * @param kingPos Position of the king.
+     * @param directionOffset Direction of the castle (1 = kingside, -1 = queenside)
+     */
+    private void handleCastle(int kingPos, int directionOffset){
+        boolean isNegative = directionOffset > 0;
+
+        int rookPos = isNegative ? kingPos+3 : kingPos-4;
+
+        int kingSpaces = isNegative ? 2 : -2;
+        int rookSpaces = isNegative ? -2 : 3;
+
+        bitboard.movePiece(rookPos, rookPos + rookSpaces);
+        bitboard.movePiece(kingPos, kingPos + kingSpaces);
+    }
+
+    /**
+     * Determines whether either king is in check using the checking pieces found by the MoveCalculator.
+     */
+    private void updateCheck(){
+        long whiteCheckers = moveCalculator.getCheckers(true);
+        long blackCheckers = moveCalculator.getCheckers(false);
+
+        this.isWhiteCheck = whiteCheckers != 0;
+        this.isBlackCheck = blackCheckers != 0;
+        this.isDoubleCheck = Long.bitCount(whiteCheckers | blackCheckers) > 1;
+    }
+
+    /**
+     * Uses FENUtility to generate load data based on FEN string.
+     * Takes LoadData and applies it current board state.
+     *
+     * @param fen FEN string to load.
+     */
+    public void loadPosition(String fen){
+        LoadData boardData = FenUtility.loadPosition(fen);
+
+        this.bitboard.loadPieces(boardData.squarePieces);
+        this.colorToMove = boardData.colorToMove;
+
+        // Update castling rights
+        this.castlingRights = 0;
+        if (boardData.whiteCastleKing && hasCastlingPieces(4, 7, true)) castlingRights |= WHITE_CASTLE_KING;
+        if (boardData.whiteCastleQueen && hasCastlingPieces(4, 0, true)) castlingRights |= WHITE_CASTLE_QUEEN;
+        if (boardData.blackCastleKing && hasCastlingPieces(60, 63, false)) castlingRights |= BLACK_CASTLE_KING;
+        if (boardData.blackCastleQueen && hasCastlingPieces(60, 56, false)) castlingRights |= BLACK_CASTLE_QUEEN;
+
+        this.enPassantSquare = boardData.enPassantSquare;
+        this.numPly = boardData.plyCount;
+        this.numPlyForDraw = boardData.halfmoveClock;
+        this.pliesSinceNullMove = 0;
+        this.numUndoRecords = 0;
+        updateCheck();
+        // Recompute zobrist key
+        this.zobristKey = Zobrist.generateKey(this);
+    }
+
+    /**
+     * Copies the position of another board, including the keys needed to detect repetitions.
+     * Moves made before the copy can't be unmade on this board.
+     * @param other ChessBoard to copy.
+     */
+    public void copyPosition(ChessBoard other){
+        int[] squarePieces = new int[64];
+        for (int i = 0; i < 64; i++) squarePieces[i] = other.bitboard.getPiece(i);
+        this.bitboard.loadPieces(squarePieces);
+
+        this.colorToMove = other.colorToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.numPly = other.numPly;
+        this.numPlyForDraw = other.numPlyForDraw;
+        this.pliesSinceNullMove = other.pliesSinceNullMove;
+        this.zobristKey = other.zobristKey;
+        this.gameRunning = other.gameRunning;
+
+        if (undoRecords.length < other.undoRecords.length) growHistory(other.undoRecords.length);
+        System.arraycopy(other.keyHistory, 0, keyHistory, 0, other.numUndoRecords);
+        this.numUndoRecords = other.numUndoRecords;
+
+        updateCheck();
+    }
+
+    /**
+     * Checks that the king and rook are on their starting squares (used to ignore impossible castling rights in a FEN).
+     * @param kingPos Starting position of the king.
+     * @param rookPos Starting position of the rook.
+     * @param color Color of the king/rook.
+     * @return True if both pieces are on their starting squares.
+     */
+    private boolean hasCastlingPieces(int kingPos, int rookPos, boolean color){
+        return bitboard.getPiece(kingPos) == Bitboard.pieceIndex(Piece.KING, color) && bitboard.getPiece(rookPos) == Bitboard.pieceIndex(Piece.ROOK, color);
+    }
+
+    public Bitboard getBitboard(){
+        return bitboard;
+    }
+
+    public MoveCalculator getMoveCalculator(){
+        return this.moveCalculator;
+    }
+
+    public boolean colorToMove(){
+        return colorToMove;
+    }
+
+    public int getCastlingRights(){
+        return castlingRights;
+    }
+
+    public int getEnPassantSquare(){
+        return enPassantSquare;
+    }
+
+    /**
+     * @param move Packed move that hasn't been made yet.
+     * @return True if the move captures a piece.
+     */
+    public boolean isCapture(int move){
+        return MoveUtility.isEnPassant(move) || bitboard.getPiece(MoveUtility.getTo(move)) != Bitboard.EMPTY;
+    }
+
+    public int getKingSquare(boolean color){
+        return Long.numberOfTrailingZeros(bitboard.getPieces(Piece.KING, color));
+    }
+
+    public int numPieces(int type, boolean color){
+        return bitboard.getPieceCount(type, color);
+    }
+
+    public Move getMove(int prevPos, int newPos){
+        for (Move m : getMoveCalculator().getLegalMoves(this, colorToMove)){
+            if (m.piecePos == prevPos && m.squarePos == newPos) return m;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if the position is drawn by the move counter, repetition or insufficient material.
+     * A single repetition is enough, since the side that could avoid it would have done so if it was winning.
+     * Checkmate takes priority over the move counter.
+     * @return True if the position should be scored as a draw.
+     */
+    public boolean isDraw(){
+        return countRepetitions() > 0 || isInsufficientMaterial() || (numPlyForDraw >= DRAW_PLY_COUNT && !isCheckmate());
+    }
+
+    /**
+     * Only generates moves if the color to move is in check, so it is cheap enough to call at every node.
+     * @return True if the color to move is checkmated.
+     */
+    private boolean isCheckmate(){
+        if (!isWhiteCheck && !isBlackCheck) return false;
+
+        moveCalculator.getLegalMoves(this, colorToMove, drawCheckMoves);
+        return drawCheckMoves.isEmpty();
+    }
+
+    /**
+     * Counts the earlier occurrences of the current position.
+     * Positions before the last capture, pawn move or null move can't repeat, and a position can only repeat with the same color to move,
+     * so only every second key back to the last irreversible move is checked.
+     * @return Number of times the current position occurred before.
+     */
+    public int countRepetitions(){
+        int repetitions = 0;
+        int oldest = Math.max(0, numUndoRecords - Math.min(numPlyForDraw, pliesSinceNullMove));
+
+        // The same position can't appear again until each side has made two moves
+        for (int i = numUndoRecords - 4; i >= oldest; i -= 2){
+            if (keyHistory[i] == zobristKey) repetitions++;
+        }
+
+        return repetitions;
+    }
+
+    /**
+     * Checks if neither side can checkmate (king vs king or king and one bishop/knight vs king).
+     * @return True if there is not enough material left to checkmate.
+     */
+    public boolean isInsufficientMaterial(){
+        for (int i = 0; i < 2; i++){
+            boolean color = i == 0;
+            if (bitboard.getPieceCount(Piece.PAWN, color) + bitboard.getPieceCount(Piece.ROOK, color) + bitboard.getPieceCount(Piece.QUEEN, color) > 0) return false;
+        }
+
+        int minorPieces = bitboard.getPieceCount(Piece.BISHOP, true) + bitboard.getPieceCount(Piece.KNIGHT, true)
+                + bitboard.getPieceCount(Piece.BISHOP, false) + bitboard.getPieceCount(Piece.KNIGHT, false);
+
+        return minorPieces <= 1;
+    }
+
+
+}
@@ -0,0 +1,155 @@
+package com.shynee.main.chess;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * FenUtility -- Used to load/save a board with a given FEN string.
+ * FEN strings represent a board through a string value.
+ */
+public class FenUtility {
+
+    private static final HashMap<Character, Integer> piecesMap = new HashMap<>(){{
+        put('k', Bitboard.pieceIndex(Piece.KING, false));
+        put('q', Bitboard.pieceIndex(Piece.QUEEN, false));
+        put('b', Bitboard.pieceIndex(Piece.BISHOP, false));
+        put('n', Bitboard.pieceIndex(Piece.KNIGHT, false));
+        put('r', Bitboard.pieceIndex(Piece.ROOK, false));
+        put('p', Bitboard.pieceIndex(Piece.PAWN, false));
+        put('K', Bitboard.pieceIndex(Piece.KING, true));
+        put('Q', Bitboard.pieceIndex(Piece.QUEEN, true));
+        put('B', Bitboard.pieceIndex(Piece.BISHOP, true));
+        put('N', Bitboard.pieceIndex(Piece.KNIGHT, true));
+        put('R', Bitboard.pieceIndex(Piece.ROOK, true));
+        put('P', Bitboard.pieceIndex(Piece.PAWN, true));
+    }};
+
+
+    /**
+     * Converts FEN string into board data
+     * @param fen FEN string of board
+     * @return Custom LoadData with the piece on every square and boolean values
+     */
+    public static LoadData loadPosition(String fen){
+
+        String[] args = fen.split(" ");
+        if (args.length < 2) throw new RuntimeException("Incorrect FEN loaded");
+
+        LoadData lData = new LoadData();
+        int[] squarePieces = new int[64];
+        Arrays.fill(squarePieces, Bitboard.EMPTY);
+
+        int rank = 7;
+        int file = 0;
+
+        for (char c : args[0].toCharArray()) {
+
+            if (c == '/') {
+                file = 0;
+                rank--;
+                continue;
+            }
+
+            //If there is a number, skip that many empty squares
+            if (Character.isDigit(c)) {
+                file += Character.getNumericValue(c);
+            }
+
+            //If there is a letter, place the corresponding piece on that square
+            if (Character.isAlphabetic(c)){
+                squarePieces[BoardUtility.getArrayIndex(rank, file)] = piecesMap.get(c);
+                file++;
+            }
+        }
+
+        lData.squarePieces = squarePieces;
+        lData.colorToMove = args[1].equalsIgnoreCase("w");
+
+        // Add castling rights
+        String castling = args.length > 2 ? args[2] : "KQkq";
+        lData.whiteCastleKing = castling.contains("K");
+        lData.whiteCastleQueen = castling.contains("Q");
+        lData.blackCastleKing = castling.contains("k");
+        lData.blackCastleQueen = castling.contains("q");
+
+        // Add en passant square (e.g. e3)
+        String enPassant = args.length > 3 ? args[3] : "-";
+        lData.enPassantSquare = enPassant.length() == 2 ? BoardUtility.getArrayIndex(enPassant.charAt(1) - '1', enPassant.charAt(0) - 'a') : ChessBoard.NO_SQUARE;
+
+        lData.halfmoveClock = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        // Fullmove number starts at 1 and is incremented after every black move
+        int fullmoveNumber = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        lData.plyCount = (fullmoveNumber - 1) * 2 + (lData.colorToMove ? 0 : 1);
+
+        return lData;
+    }
+
+
+    /**
+     * Saves current board state into FEN notation
+     * @param board ChessBoard class containing all savable information
+     * @return String of FEN
+     */
+    public static String savePosition(ChessBoard board){
+        StringBuilder finalFen = new StringBuilder();
+
+        for (int rank = 7; rank >= 0; rank--){
+            int emptyFiles = 0;
+            for (int file = 0; file < 8; file++){
+                int piece = board.getBitboard().getPiece(BoardUtility.getArrayIndex(rank, file));
+
+                if (piece == Bitboard.EMPTY){
+                    emptyFiles++;
+                    continue;
+                }
+
+                if (emptyFiles != 0){
+                    finalFen.append(emptyFiles);
+                    emptyFiles = 0;
+                }
+
+                char pieceChar = '?';
+                switch(Bitboard.pieceType(piece)){
+                    case Piece.KING -> pieceChar = 'k';
+                    case Piece.QUEEN -> pieceChar = 'q';
+                    case Piece.BISHOP -> pieceChar = 'b';
+                    case Piece.KNIGHT -> pieceChar = 'n';
+                    case Piece.ROOK -> pieceChar = 'r';
+                    case Piece.PAWN -> pieceChar = 'p';
+                }
+                finalFen.append(Bitboard.pieceColor(piece) ? Character.toUpperCase(pieceChar) : pieceChar);
+            }
+            if (emptyFiles != 0) finalFen.append(emptyFiles);
+            if (rank != 0) finalFen.append('/');
+        }
+
+        finalFen.append(" ");
+        finalFen.append(board.colorToMove() ? 'w' : 'b').append(" ");
+
+        // Append castling rights
+        int castlingRights = board.getCastlingRights();
+        boolean whiteKing = (castlingRights & ChessBoard.WHITE_CASTLE_KING) != 0;
+        finalFen.append(whiteKing ? "K" : "");
+        boolean whiteQueen = (castlingRights & ChessBoard.WHITE_CASTLE_QUEEN) != 0;
+        finalFen.append(whiteQueen ? "Q" : "");
+        boolean blackKing = (castlingRights & ChessBoard.BLACK_CASTLE_KING) != 0;
+        finalFen.append(blackKing ? "k" : "");
+        boolean blackQueen = (castlingRights & ChessBoard.BLACK_CASTLE_QUEEN) != 0;
+        finalFen.append(blackQueen ? "q" : "");
+
+        finalFen.append(whiteKing || blackKing || whiteQueen || blackQueen ? "" : "-");
+
+        // Append en passant square
+        finalFen.append(" ");
+        int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare == ChessBoard.NO_SQUARE) finalFen.append("-");
+        else finalFen.append((char) ('a' + enPassantSquare % 8)).append(enPassantSquare / 8 + 1);
+        finalFen.append(" ");
+        finalFen.append(board.numPlyForDraw);
+        finalFen.append(" ");
+        finalFen.append(board.numPly / 2 + 1);
+
+        return finalFen.toString();
+    }
+}
@@ -2,10 +2,8 @@ package com.shynee.main.chess;
 
 public class LoadData {
 
-    public Square[] boardRepresentation;
-
-    public Square whiteKingSquare;
-    public Square blackKingSquare;
+    // Piece index of every square (see Bitboard.pieceIndex())
+    public int[] squarePieces;
 
     public boolean colorToMove;
 
@@ -15,5 +13,10 @@ public class LoadData {
     public boolean blackCastleKing;
     public boolean blackCastleQueen;
 
+    public int enPassantSquare;
+
+    // Plies since the last capture or pawn move
+    public int halfmoveClock;
+
     public int plyCount;
 }
@@ -0,0 +1,83 @@
+package com.shynee.main.chess;
+
+/**
+ * Move -- Object form of a move used by the UI, book and algebraic notation.
+ * The move generator and search work with packed int moves (see MoveUtility);
+ * toPacked() and fromPacked() convert between the two.
+ * Castling moves use the square of the rook as their final position.
+ */
+public class Move{
+
+    public int piecePos;
+    public int squarePos;
+    public int directionOffset;
+    public boolean isCastle;
+    public boolean isPromotion;
+    public boolean isEnPassant;
+    public boolean isDoublePush;
+    public int promotionType = Piece.QUEEN;
+
+    public Move(int oldSquarePos, int newSquarePos, int directionOffset){
+        this.piecePos = oldSquarePos;
+        this.squarePos = newSquarePos;
+        this.directionOffset = directionOffset;
+    }
+
+    public Move setCastle(){
+        this.isCastle = true;
+        return this;
+    }
+
+    public Move setPromotion() {
+        this.isPromotion = true;
+        return this;
+    }
+
+    public Move setPromotion(int promotionType) {
+        this.promotionType = promotionType;
+        return setPromotion();
+    }
+
+    /**
+     * Converts the move into a packed int move.
+     * @return Packed representation of the move.
+     */
+    public int toPacked(){
+        if (isCastle) return MoveUtility.encode(piecePos, directionOffset > 0 ? piecePos+2 : piecePos-2, MoveUtility.CASTLE);
+        if (isPromotion) return MoveUtility.encodePromotion(piecePos, squarePos, promotionType);
+        if (isEnPassant) return MoveUtility.encode(piecePos, squarePos, MoveUtility.EN_PASSANT);
+        if (isDoublePush) return MoveUtility.encode(piecePos, squarePos, MoveUtility.DOUBLE_PUSH);
+
+        return MoveUtility.encode(piecePos, squarePos, MoveUtility.NO_FLAG);
+    }
+
+    /**
+     * Converts a packed int move into a Move.
+     * @param move Packed move.
+     * @return New Move with the same starting and final squares.
+     */
+    public static Move fromPacked(int move){
+        int from = MoveUtility.getFrom(move);
+        int to = MoveUtility.getTo(move);
+
+        if (MoveUtility.isCastle(move)){
+            boolean kingSide = to > from;
+            return new Move(from, kingSide ? from+3 : from-4, kingSide ? 1 : -1).setCastle();
+        }
+
+        Move m = new Move(from, to, BoardUtility.getDirectionOffset(from, to));
+        if (MoveUtility.isPromotion(move)) m.setPromotion(MoveUtility.getPromotionType(move));
+        m.isEnPassant = MoveUtility.isEnPassant(move);
+        m.isDoublePush = MoveUtility.isDoublePush(move);
+
+        return m;
+    }
+
+    public static boolean isSameMove(Move m1, Move m2){
+        if (m1 == null || m2 == null)
+            return false;
+
+        return m1.squarePos == m2.squarePos && m1.piecePos == m2.piecePos && m1.isCastle == m2.isCastle && m1.isPromotion == m2.isPromotion && m1.promotionType == m2.promotionType;
+    }
+
+}
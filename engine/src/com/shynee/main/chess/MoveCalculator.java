@@ -0,0 +1,403 @@
+package com.shynee.main.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MoveCalculator -- Used to calculate all legal moves in a chess board.
+ * Moves are generated straight from the Bitboard using the precomputed attack tables (see Attacks).
+ * Check and pins are found as bitmasks before any moves are generated:
+ * - checkers: every enemy piece attacking the king
+ * - pinned: every friendly piece that can't leave the line between the king and an enemy sliding piece
+ * - check mask: the squares a non-king move has to land on to capture or block a single checking piece
+ * Every non-king move is then made legal with a few bitwise ANDs, and king moves are checked against the enemy attacks.
+ * Moves are written as packed ints (see MoveUtility) into a MoveList so that nothing is allocated during the search.
+ */
+public class MoveCalculator {
+
+    // Types of moves that can be generated
+    public final static int ALL_MOVES = 0;
+    public final static int CAPTURES = 1;
+    public final static int QUIETS = 2;
+
+    private final ChessBoard board;
+    private final Bitboard bitboard;
+
+    // Used to check single moves without filling the caller's list
+    private final MoveList validationList;
+
+    // Updated every generation
+    private long movablePieces;
+    private long friendlyPieces;
+    private long opponentPieces;
+    private long occupied;
+    private long checkMask;
+    private long pinned;
+    private int kingPos;
+
+    /**
+     * @param board ChessBoard the moves are generated for.
+     */
+    public MoveCalculator(ChessBoard board) {
+        this.board = board;
+        this.bitboard = board.getBitboard();
+        this.validationList = new MoveList();
+    }
+
+    /**
+     * Generates all legal moves for a given player.
+     * This creates Move objects, so it should only be used outside the search (UI, book, notation).
+     * @param chessBoard Representation of the current board state.
+     * @param color Color of the player to generate moves for.
+     * @return List of all legal moves for a given player.
+     */
+    public List<Move> getLegalMoves(ChessBoard chessBoard, boolean color) {
+        MoveList moveList = new MoveList();
+        getLegalMoves(chessBoard, color, moveList);
+
+        List<Move> legalMoves = new ArrayList<>();
+        for (int i = 0; i < moveList.size(); i++){
+            legalMoves.add(Move.fromPacked(moveList.get(i)));
+        }
+
+        return legalMoves;
+    }
+
+    /**
+     * Fills a MoveList with all legal moves for a given player.
+     * @param chessBoard Representation of the current board state.
+     * @param color Color of the player to generate moves for.
+     * @param moveList List to fill (cleared first).
+     */
+    public void getLegalMoves(ChessBoard chessBoard, boolean color, MoveList moveList){
+        getLegalMoves(color, ALL_MOVES, moveList);
+    }
+
+    /**
+     * Subset of getLegalMoves that only returns the legal captures.
+     * Used in the quiescence search (see Search.java for more details).
+     * @param chessBoard Representation of the current board state.
+     * @param color Color of the player to generate captures for.
+     * @param moveList List to fill (cleared first).
+     */
+    public void getLegalCaptures(ChessBoard chessBoard, boolean color, MoveList moveList){
+        getLegalMoves(color, CAPTURES, moveList);
+    }
+
+    /**
+     * Fills a MoveList with one type of legal moves for a given player.
+     * Captures (including capturing promotions) and quiets never overlap, so the search can generate quiet moves only when it needs them.
+     * @param color Color of the player to generate moves for.
+     * @param moveType Type of moves to generate (ALL_MOVES, CAPTURES or QUIETS).
+     * @param moveList List to fill (cleared first).
+     */
+    public void getLegalMoves(boolean color, int moveType, MoveList moveList){
+        moveList.clear();
+        generateMoves(color, moveType, -1L, moveList);
+    }
+
+    /**
+     * Checks if a move (e.g. from the transposition table) is legal in the current position.
+     * Only the moves of the piece on the starting square are generated.
+     * @param move Packed move to check.
+     * @param color Color of the player to move.
+     * @return True if the move is legal.
+     */
+    public boolean isLegal(int move, boolean color){
+        if (move == MoveUtility.NULL_MOVE) return false;
+
+        int from = MoveUtility.getFrom(move);
+        if ((bitboard.getColorPieces(color) & (1L << from)) == 0) return false;
+
+        validationList.clear();
+        generateMoves(color, ALL_MOVES, 1L << from, validationList);
+
+        return validationList.contains(move);
+    }
+
+    /**
+     * Finds every piece that is checking the king of a given color.
+     * @param color Color of the king.
+     * @return Bitboard of the checking pieces.
+     */
+    public long getCheckers(boolean color){
+        long king = bitboard.getPieces(Piece.KING, color);
+        if (king == 0) return 0;
+
+        return getAttackers(Long.numberOfTrailingZeros(king), !color, bitboard.getOccupied());
+    }
+
+    /**
+     * Checks if a square is attacked by any piece of a given color.
+     * @param square Position of the square.
+     * @param color Color of the attacking pieces.
+     * @return True if the square is attacked.
+     */
+    public boolean isSquareAttacked(int square, boolean color){
+        return getAttackers(square, color, bitboard.getOccupied()) != 0;
+    }
+
+    /**
+     * Finds every piece of a given color that attacks a square.
+     * Works backwards from the square: a knight on the square would attack every knight that attacks the square, etc.
+     * @param square Position of the square.
+     * @param color Color of the attacking pieces.
+     * @param occupied Bitboard of the pieces that block sliding attacks.
+     * @return Bitboard of the attacking pieces.
+     */
+    public long getAttackers(int square, boolean color, long occupied){
+        long queens = bitboard.getPieces(Piece.QUEEN, color);
+
+        long attackers = Attacks.knightAttacks(square) & bitboard.getPieces(Piece.KNIGHT, color);
+        attackers |= Attacks.kingAttacks(square) & bitboard.getPieces(Piece.KING, color);
+        // A pawn of the opposite color on the square attacks the same squares the attacking pawns come from
+        attackers |= Attacks.pawnAttacks(!color, square) & bitboard.getPieces(Piece.PAWN, color);
+        attackers |= Attacks.bishopAttacks(square, occupied) & (bitboard.getPieces(Piece.BISHOP, color) | queens);
+        attackers |= Attacks.rookAttacks(square, occupied) & (bitboard.getPieces(Piece.ROOK, color) | queens);
+
+        return attackers;
+    }
+
+    /**
+     * Generates the legal moves for a given player.
+     * @param color Color of the player to generate moves for.
+     * @param moveType Type of moves to generate (ALL_MOVES, CAPTURES or QUIETS).
+     * @param movablePieces Bitboard of the pieces that moves are generated for.
+     * @param moveList List to add the moves to.
+     */
+    private void generateMoves(boolean color, int moveType, long movablePieces, MoveList moveList){
+        this.movablePieces = movablePieces;
+        this.friendlyPieces = bitboard.getColorPieces(color);
+        this.opponentPieces = bitboard.getColorPieces(!color);
+        this.occupied = bitboard.getOccupied();
+        this.kingPos = Long.numberOfTrailingZeros(bitboard.getPieces(Piece.KING, color));
+
+        long checkers = getAttackers(kingPos, !color, occupied);
+        long targets = switch (moveType){
+            case CAPTURES -> opponentPieces;
+            case QUIETS -> ~occupied;
+            default -> ~friendlyPieces;
+        };
+
+        if ((movablePieces & (1L << kingPos)) != 0) generateKingMoves(color, targets, moveList);
+
+        // Only the king can move out of a double check
+        if (Long.bitCount(checkers) > 1) return;
+
+        // Other pieces have to capture or block a single checking piece
+        this.checkMask = checkers == 0 ? -1L : checkers | Attacks.between(kingPos, Long.numberOfTrailingZeros(checkers));
+        this.pinned = findPinnedPieces(color);
+
+        if (checkers == 0 && moveType != CAPTURES && (movablePieces & (1L << kingPos)) != 0) generateCastles(color, moveList);
+
+        generatePawnMoves(color, moveType, moveList);
+
+        targets &= checkMask;
+        generatePieceMoves(Piece.KNIGHT, color, targets, moveList);
+        generatePieceMoves(Piece.BISHOP, color, targets, moveList);
+        generatePieceMoves(Piece.ROOK, color, targets, moveList);
+        generatePieceMoves(Piece.QUEEN, color, targets, moveList);
+    }
+
+    /**
+     * Finds every friendly piece that is the only piece between the king and an enemy sliding piece.
+     * @param color Color of the king.
+     * @return Bitboard of the pinned pieces.
+     */
+    private long findPinnedPieces(boolean color){
+        long queens = bitboard.getPieces(Piece.QUEEN, !color);
+
+        // Enemy sliding pieces that would attack the king if no friendly pieces were in the way
+        long snipers = Attacks.rookAttacks(kingPos, opponentPieces) & (bitboard.getPieces(Piece.ROOK, !color) | queens);
+        snipers |= Attacks.bishopAttacks(kingPos, opponentPieces) & (bitboard.getPieces(Piece.BISHOP, !color) | queens);
+
+        long pinnedPieces = 0;
+        while (snipers != 0){
+            int sniperPos = Long.numberOfTrailingZeros(snipers);
+            long blockers = Attacks.between(kingPos, sniperPos) & occupied;
+
+            if (Long.bitCount(blockers) == 1 && (blockers & friendlyPieces) != 0) pinnedPieces |= blockers;
+
+            snipers &= snipers - 1;
+        }
+
+        return pinnedPieces;
+    }
+
+    /**
+     * Generates king moves that don't move into an attacked square.
+     * @param color Color of the king.
+     * @param targets Squares the king is allowed to move to.
+     * @param moveList List to add the moves to.
+     */
+    private void generateKingMoves(boolean color, long targets, MoveList moveList){
+        long kingTargets = Attacks.kingAttacks(kingPos) & targets;
+
+        // Remove the king so that it can't hide behind itself from a sliding piece
+        long occupiedWithoutKing = occupied ^ (1L << kingPos);
+
+        while (kingTargets != 0){
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            if (getAttackers(to, !color, occupiedWithoutKing) == 0) moveList.add(MoveUtility.encode(kingPos, to, MoveUtility.NO_FLAG));
+            kingTargets &= kingTargets - 1;
+        }
+    }
+
+    /**
+     * Generates castling moves.
+     * Only called when the king isn't in check.
+     * The squares between the king and rook have to be empty and the king can't pass through an attacked square.
+     * @param color Color of the king.
+     * @param moveList List to add the moves to.
+     */
+    private void generateCastles(boolean color, MoveList moveList){
+        int castlingRights = board.getCastlingRights();
+        int rook = Bitboard.pieceIndex(Piece.ROOK, color);
+
+        int kingSide = color ? ChessBoard.WHITE_CASTLE_KING : ChessBoard.BLACK_CASTLE_KING;
+        if ((castlingRights & kingSide) != 0 && bitboard.getPiece(kingPos+3) == rook && (Attacks.between(kingPos, kingPos+3) & occupied) == 0
+                && !isSquareAttacked(kingPos+1, !color) && !isSquareAttacked(kingPos+2, !color)){
+            moveList.add(MoveUtility.encode(kingPos, kingPos+2, MoveUtility.CASTLE));
+        }
+
+        int queenSide = color ? ChessBoard.WHITE_CASTLE_QUEEN : ChessBoard.BLACK_CASTLE_QUEEN;
+        if ((castlingRights & queenSide) != 0 && bitboard.getPiece(kingPos-4) == rook && (Attacks.between(kingPos, kingPos-4) & occupied) == 0
+                && !isSquareAttacked(kingPos-1, !color) && !isSquareAttacked(kingPos-2, !color)){
+            moveList.add(MoveUtility.encode(kingPos, kingPos-2, MoveUtility.CASTLE));
+        }
+    }
+
+    /**
+     * Generates legal moves for every pawn of a color.
+     * @param color Color of the pawns.
+     * @param moveType Type of moves to generate (ALL_MOVES, CAPTURES or QUIETS).
+     * @param moveList List to add the moves to.
+     */
+    private void generatePawnMoves(boolean color, int moveType, MoveList moveList){
+        // White pawns move up the board
+        int forward = color ? 8 : -8;
+        int startRank = color ? 1 : 6;
+        int promotionRank = color ? 7 : 0;
+
+        long pawns = bitboard.getPieces(Piece.PAWN, color) & movablePieces;
+        while (pawns != 0){
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+
+            // A pinned pawn can only move along the pin
+            long allowed = checkMask & getPinMask(from);
+
+            long captures = moveType == QUIETS ? 0 : Attacks.pawnAttacks(color, from) & opponentPieces & allowed;
+            while (captures != 0){
+                addPawnMove(from, Long.numberOfTrailingZeros(captures), promotionRank, moveList);
+                captures &= captures - 1;
+            }
+
+            if (moveType == CAPTURES) continue;
+
+            int to = from + forward;
+            if ((occupied & (1L << to)) != 0) continue;
+            if ((allowed & (1L << to)) != 0) addPawnMove(from, to, promotionRank, moveList);
+
+            // A pawn can only move two squares if it's on its starting rank
+            int doubleTo = to + forward;
+            if (from >> 3 == startRank && (occupied & (1L << doubleTo)) == 0 && (allowed & (1L << doubleTo)) != 0){
+                moveList.add(MoveUtility.encode(from, doubleTo, MoveUtility.DOUBLE_PUSH));
+            }
+        }
+
+        int enPassantSquare = board.getEnPassantSquare();
+        if (moveType == QUIETS || enPassantSquare == ChessBoard.NO_SQUARE) return;
+
+        // Pawns that attack the en passant square (found backwards like in getAttackers)
+        long enPassantPawns = Attacks.pawnAttacks(!color, enPassantSquare) & bitboard.getPieces(Piece.PAWN, color) & movablePieces;
+        while (enPassantPawns != 0){
+            int from = Long.numberOfTrailingZeros(enPassantPawns);
+            enPassantPawns &= enPassantPawns - 1;
+
+            if (isLegalEnPassant(from, enPassantSquare, color)) moveList.add(MoveUtility.encode(from, enPassantSquare, MoveUtility.EN_PASSANT));
+        }
+    }
+
+    /**
+     * Adds a pawn move, or one move for every piece type the pawn can promote to.
+     * The queen promotion is added first.
+     */
+    private void addPawnMove(int from, int to, int promotionRank, MoveList moveList){
+        if (to >> 3 == promotionRank) {
+            moveList.add(MoveUtility.encodePromotion(from, to, Piece.QUEEN));
+            moveList.add(MoveUtility.encodePromotion(from, to, Piece.KNIGHT));
+            moveList.add(MoveUtility.encodePromotion(from, to, Piece.ROOK));
+            moveList.add(MoveUtility.encodePromotion(from, to, Piece.BISHOP));
+        }
+        else moveList.add(MoveUtility.encode(from, to, MoveUtility.NO_FLAG));
+    }
+
+    /**
+     * En passant removes two pieces from the same rank, so pins and check are tested on the board after the capture.
+     * @param from Position of the capturing pawn.
+     * @param enPassantSquare Final square of the capturing pawn.
+     * @param color Color of the capturing pawn.
+     * @return True if the king isn't attacked after the capture.
+     */
+    private boolean isLegalEnPassant(int from, int enPassantSquare, boolean color){
+        long capturedPawn = 1L << (color ? enPassantSquare - 8 : enPassantSquare + 8);
+        long occupiedAfter = (occupied ^ (1L << from) ^ capturedPawn) | (1L << enPassantSquare);
+
+        return (getAttackers(kingPos, !color, occupiedAfter) & ~capturedPawn) == 0;
+    }
+
+    /**
+     * Generates legal moves for every knight, bishop, rook or queen of a color.
+     * @param pieceType Type of the pieces.
+     * @param color Color of the pieces.
+     * @param targets Squares the pieces are allowed to move to.
+     * @param moveList List to add the moves to.
+     */
+    private void generatePieceMoves(int pieceType, boolean color, long targets, MoveList moveList){
+        long pieces = bitboard.getPieces(pieceType, color) & movablePieces;
+
+        // A pinned knight can never stay on the line of the pin
+        if (pieceType == Piece.KNIGHT) pieces &= ~pinned;
+
+        while (pieces != 0){
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+
+            long attacks = getAttacks(pieceType, from, occupied) & targets & getPinMask(from);
+            while (attacks != 0){
+                moveList.add(MoveUtility.encode(from, Long.numberOfTrailingZeros(attacks), MoveUtility.NO_FLAG));
+                attacks &= attacks - 1;
+            }
+        }
+    }
+
+    /**
+     * @param square Position of a friendly piece.
+     * @return The line from the king through the piece if it is pinned, otherwise every square.
+     */
+    private long getPinMask(int square){
+        return (pinned & (1L << square)) != 0 ? Attacks.line(kingPos, square) : -1L;
+    }
+
+    /**
+     * Finds the squares attacked by a non-pawn piece.
+     * @param pieceType Type of the piece.
+     * @param square Position of the piece.
+     * @param occupied Bitboard of all pieces on the board (only used for sliding pieces).
+     * @return Bitboard of the squares attacked by the piece.
+     */
+    private long getAttacks(int pieceType, int square, long occupied){
+        switch (pieceType){
+            case Piece.KNIGHT -> {
+                return Attacks.knightAttacks(square);
+            }
+            case Piece.KING -> {
+                return Attacks.kingAttacks(square);
+            }
+            default -> {
+                return Attacks.slidingAttacks(pieceType, square, occupied);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.shynee.main.chess;
+
+/**
+ * MoveList -- Reusable list of packed moves (see MoveUtility) and their ordering scores.
+ * Backed by primitive arrays that are allocated once, so filling the list never creates objects.
+ * The search keeps one MoveList for every ply.
+ */
+public class MoveList {
+
+    // Maximum number of legal moves in any chess position
+    public final static int MAX_MOVES = 218;
+
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+
+    public MoveList(){
+        this.moves = new int[MAX_MOVES];
+        this.scores = new int[MAX_MOVES];
+        this.size = 0;
+    }
+
+    public void add(int move){
+        moves[size++] = move;
+    }
+
+    public int get(int index){
+        return moves[index];
+    }
+
+    public void set(int index, int move){
+        moves[index] = move;
+    }
+
+    public int getScore(int index){
+        return scores[index];
+    }
+
+    public void setScore(int index, int score){
+        scores[index] = score;
+    }
+
+    /**
+     * Swaps two moves and their scores.
+     * @param i Index of the first move.
+     * @param j Index of the second move.
+     */
+    public void swap(int i, int j){
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+
+        int score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    public boolean contains(int move){
+        for (int i = 0; i < size; i++){
+            if (moves[i] == move) return true;
+        }
+        return false;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public void clear(){
+        size = 0;
+    }
+}
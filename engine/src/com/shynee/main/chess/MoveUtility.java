@@ -0,0 +1,75 @@
+package com.shynee.main.chess;
+
+/**
+ * MoveUtility -- Utility class for moves that are packed into a single int.
+ * Packed moves are used by the move generator and search so that no objects have to be created for every move.
+ * Bits 0-5 hold the starting square, bits 6-11 hold the final square,
+ * bits 12-14 hold a flag for special moves and bits 15-17 hold the piece type a pawn promotes to.
+ * Castling moves store the final square of the king and en passant captures store the square behind the captured pawn.
+ */
+public class MoveUtility {
+
+    // Value that can never be a real move (a piece can't move to its own square)
+    public final static int NULL_MOVE = 0;
+
+    public final static int NO_FLAG = 0;
+    public final static int CASTLE = 1;
+    public final static int PROMOTION = 2;
+    public final static int EN_PASSANT = 3;
+    // A pawn moving two squares (allows en passant on the next move)
+    public final static int DOUBLE_PUSH = 4;
+
+    /**
+     * Packs a move into an int.
+     * @param from Starting square of the piece.
+     * @param to Final square of the piece.
+     * @param flag Flag of the move (NO_FLAG, CASTLE, PROMOTION, EN_PASSANT, DOUBLE_PUSH)
+     * @return Packed move.
+     */
+    public static int encode(int from, int to, int flag){
+        return from | (to << 6) | (flag << 12);
+    }
+
+    /**
+     * Packs a promotion into an int.
+     * @param from Starting square of the pawn.
+     * @param to Final square of the pawn.
+     * @param promotionType Type of the piece the pawn promotes to.
+     * @return Packed move.
+     */
+    public static int encodePromotion(int from, int to, int promotionType){
+        return encode(from, to, PROMOTION) | (promotionType << 15);
+    }
+
+    public static int getFrom(int move){
+        return move & 0x3F;
+    }
+
+    public static int getTo(int move){
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getFlag(int move){
+        return (move >>> 12) & 0x7;
+    }
+
+    public static int getPromotionType(int move){
+        return (move >>> 15) & 0x7;
+    }
+
+    public static boolean isCastle(int move){
+        return getFlag(move) == CASTLE;
+    }
+
+    public static boolean isPromotion(int move){
+        return getFlag(move) == PROMOTION;
+    }
+
+    public static boolean isEnPassant(int move){
+        return getFlag(move) == EN_PASSANT;
+    }
+
+    public static boolean isDoublePush(int move){
+        return getFlag(move) == DOUBLE_PUSH;
+    }
+}
@@ -0,0 +1,278 @@
+package com.shynee.main.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft -- Counts every position reachable from a board position in a certain number of moves.
+ * The counts can be compared with known values to make sure the MoveCalculator is correct,
+ * and the nodes per second are used to measure the speed of move generation.
+ * - Bulk counting: the last ply counts the generated moves instead of making them
+ * - Hashing: counts of positions that were already reached (through a different move order) are reused
+ * - Divide: prints the count of every root move, which helps find the move that is generated incorrectly
+ * - Parallel: every root move is counted as a separate task in a ForkJoinPool, every worker thread has its own board and hash table
+ *
+ * Usage: Perft [--fen <fen>] [--depth <depth>] [--divide] [--hash <entries>] [--parallel]
+ * Without a FEN, every reference position is checked and the program exits with 1 if any count is wrong.
+ */
+public class Perft {
+
+    /**
+     * ReferencePosition: Struct used to store a position with its known perft count
+     */
+    private static class ReferencePosition{
+        public final String name;
+        public final String fen;
+        public final int depth;
+        public final long nodes;
+
+        public ReferencePosition(String name, String fen, int depth, long nodes){
+            this.name = name;
+            this.fen = fen;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+    }
+
+    // Positions from https://www.chessprogramming.org/Perft_Results
+    private final static ReferencePosition[] referencePositions = {
+            new ReferencePosition("start", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0", 5, 4865609L),
+            new ReferencePosition("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0", 4, 4085603L),
+            new ReferencePosition("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0", 6, 11030083L),
+            new ReferencePosition("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0", 5, 15833292L),
+            new ReferencePosition("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1", 4, 2103487L),
+            new ReferencePosition("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0", 4, 3894594L)
+    };
+
+    // Perft can count at most this many moves ahead (one move list per depth)
+    private final static int MAX_DEPTH = 63;
+
+    private final ChessBoard board;
+    private final MoveCalculator moveCalculator;
+
+    // One reusable list of moves for every ply
+    private final MoveList[] moveLists;
+
+    // Perft hash table (size 0 = no hashing)
+    private final int hashSize;
+    private final long[] hashKeys;
+    private final int[] hashDepths;
+    private final long[] hashCounts;
+
+    /**
+     * @param board ChessBoard to count positions from.
+     * @param hashSize Number of entries in the perft hash table (0 to disable hashing).
+     */
+    public Perft(ChessBoard board, int hashSize){
+        this.board = board;
+        this.moveCalculator = board.getMoveCalculator();
+
+        this.moveLists = new MoveList[MAX_DEPTH + 1];
+        for (int i = 0; i < moveLists.length; i++) moveLists[i] = new MoveList();
+
+        this.hashSize = hashSize;
+        this.hashKeys = new long[hashSize];
+        this.hashDepths = new int[hashSize];
+        this.hashCounts = new long[hashSize];
+    }
+
+    /**
+     * Counts the positions reachable in a number of moves.
+     * @param depth Number of moves to look ahead.
+     * @return Number of positions at the given depth.
+     */
+    public long perft(int depth){
+        if (depth == 0) return 1;
+
+        int index = hashSize > 0 ? (int) Long.remainderUnsigned(board.zobristKey, hashSize) : 0;
+        if (hashSize > 0 && depth > 1 && hashKeys[index] == board.zobristKey && hashDepths[index] == depth) return hashCounts[index];
+
+        MoveList moves = moveLists[depth];
+        moveCalculator.getLegalMoves(board, board.colorToMove(), moves);
+
+        // Bulk counting: every legal move leads to exactly one position
+        if (depth == 1) return moves.size();
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+
+            board.makeMove(move, true);
+            nodes += perft(depth-1);
+            board.unmakeMove(move, true);
+        }
+
+        if (hashSize > 0){
+            hashKeys[index] = board.zobristKey;
+            hashDepths[index] = depth;
+            hashCounts[index] = nodes;
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reachable after every root move and prints the count of each move.
+     * @param depth Number of moves to look ahead.
+     * @return Number of positions at the given depth.
+     */
+    public long divide(int depth){
+        MoveList moves = new MoveList();
+        moveCalculator.getLegalMoves(board, board.colorToMove(), moves);
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+
+            board.makeMove(move, true);
+            long moveNodes = perft(depth-1);
+            board.unmakeMove(move, true);
+
+            System.out.println(toUci(move) + ": " + moveNodes);
+            nodes += moveNodes;
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reachable in a number of moves with every root move counted as a separate task.
+     * Every worker thread reuses one board and one hash table for all the root moves it counts.
+     * @param fen FEN string of the position.
+     * @param depth Number of moves to look ahead.
+     * @param hashSize Number of entries in the perft hash table of every worker thread (0 to disable hashing).
+     * @return Number of positions at the given depth.
+     */
+    public static long perftParallel(String fen, int depth, int hashSize){
+        ChessBoard root = new ChessBoard(fen);
+        if (depth <= 1) return new Perft(root, 0).perft(depth);
+
+        MoveList moves = new MoveList();
+        root.getMoveCalculator().getLegalMoves(root, root.colorToMove(), moves);
+
+        // Created the first time a worker thread counts a root move
+        ThreadLocal<Perft> threadPerfts = ThreadLocal.withInitial(() -> new Perft(new ChessBoard(fen), hashSize));
+
+        List<RecursiveTask<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++){
+            int move = moves.get(i);
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected Long compute() {
+                    Perft perft = threadPerfts.get();
+                    perft.board.copyPosition(root);
+
+                    perft.board.makeMove(move, true);
+                    long nodes = perft.perft(depth-1);
+                    perft.board.unmakeMove(move, true);
+
+                    return nodes;
+                }
+            });
+        }
+
+        return ForkJoinPool.commonPool().invoke(new RecursiveTask<>() {
+            @Override
+            protected Long compute() {
+                long nodes = 0;
+                for (RecursiveTask<Long> task : invokeAll(tasks)) nodes += task.join();
+                return nodes;
+            }
+        });
+    }
+
+    /**
+     * Converts a packed move to UCI notation (e.g. e2e4, e7e8q).
+     * @param move Packed move.
+     * @return UCI notation of the move.
+     */
+    public static String toUci(int move){
+        String notation = squareToString(MoveUtility.getFrom(move)) + squareToString(MoveUtility.getTo(move));
+
+        if (MoveUtility.isPromotion(move)){
+            switch (MoveUtility.getPromotionType(move)){
+                case Piece.QUEEN -> notation += 'q';
+                case Piece.BISHOP -> notation += 'b';
+                case Piece.KNIGHT -> notation += 'n';
+                case Piece.ROOK -> notation += 'r';
+            }
+        }
+
+        return notation;
+    }
+
+    private static String squareToString(int square){
+        int[] rf = BoardUtility.getRankAndFile(square);
+        return "" + (char) ('a' + rf[1]) + (rf[0] + 1);
+    }
+
+    public static void main(String[] args){
+        String fen = null;
+        int depth = 5;
+        int hashSize = 0;
+        boolean divide = false;
+        boolean parallel = false;
+
+        for (int i = 0; i < args.length; i++){
+            switch (args[i]){
+                case "--fen" -> fen = args[++i];
+                case "--depth" -> depth = Integer.parseInt(args[++i]);
+                case "--hash" -> hashSize = Integer.parseInt(args[++i]);
+                case "--divide" -> divide = true;
+                case "--parallel" -> parallel = true;
+                default -> throw new RuntimeException("Unknown perft argument: " + args[i]);
+            }
+        }
+
+        if (depth < 0 || depth > MAX_DEPTH) throw new RuntimeException("Perft depth must be between 0 and " + MAX_DEPTH + ": " + depth);
+
+        if (fen != null){
+            // The parallel perft uses its own tables, so the board is only built to load the attack tables before the time is measured
+            Perft perft = new Perft(new ChessBoard(fen), parallel ? 0 : hashSize);
+
+            long startTime = System.nanoTime();
+            long nodes;
+            if (divide) nodes = perft.divide(depth);
+            else if (parallel) nodes = perftParallel(fen, depth, hashSize);
+            else nodes = perft.perft(depth);
+
+            System.out.println("nodes: " + nodes);
+            printSpeed(nodes, System.nanoTime() - startTime);
+            return;
+        }
+
+        // Check every reference position
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalTime = 0;
+
+        for (ReferencePosition position : referencePositions){
+            // The board (and the attack tables the first time) is built before the time is measured
+            Perft perft = new Perft(new ChessBoard(position.fen), parallel ? 0 : hashSize);
+
+            long startTime = System.nanoTime();
+            long nodes = parallel ? perftParallel(position.fen, position.depth, hashSize) : perft.perft(position.depth);
+            long time = System.nanoTime() - startTime;
+
+            boolean correct = nodes == position.nodes;
+            passed &= correct;
+            totalNodes += nodes;
+            totalTime += time;
+
+            System.out.print((correct ? "OK   " : "FAIL ") + position.name + " depth " + position.depth + ": " + nodes + " (expected " + position.nodes + ") ");
+            printSpeed(nodes, time);
+        }
+
+        System.out.print("total: " + totalNodes + " ");
+        printSpeed(totalNodes, totalTime);
+
+        if (!passed) System.exit(1);
+    }
+
+    private static void printSpeed(long nodes, long nanoseconds){
+        double seconds = nanoseconds / 1e9;
+        System.out.println(String.format("%.3fs, %.0f nodes/sec", seconds, nodes / seconds));
+    }
+}
@@ -9,23 +9,10 @@ public class Piece {
 
     public int type;
     public boolean color;
-    public boolean hasMoved;
 
     public Piece(int type, boolean color) {
         this.type = type;
         this.color = color;
-        this.hasMoved = false;
-    }
-
-    /**
-     * Copies the values of one piece into a new piece
-     * @param piece Piece to copy values from
-     * @return New copied piece
-     */
-    public static Piece copy(Piece piece){
-        Piece newPiece = new Piece(piece.type, piece.color);
-        newPiece.hasMoved = piece.hasMoved;
-        return newPiece;
     }
 
     public final static int KING = 0;
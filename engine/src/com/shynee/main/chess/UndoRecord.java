@@ -0,0 +1,17 @@
+package com.shynee.main.chess;
+
+/**
+ * UndoRecord -- Stores the parts of the board state that can't be recomputed when a move is unmade.
+ * ChessBoard keeps a preallocated array of these (one for every move made) and reuses them.
+ */
+public class UndoRecord {
+
+    public long zobristKey;
+    public int castlingRights;
+    // Piece index of the captured piece (Bitboard.EMPTY if nothing was captured)
+    public int capturedPiece;
+    public int enPassantSquare;
+    public int halfmoveClock;
+    public int pliesSinceNullMove;
+
+}